@@ -5,6 +5,8 @@ dependencies {
     compileOnly("com.sk89q.worldguard:worldguard-bukkit:7.0.7")
     implementation("org.reflections:reflections:0.10.2")
     implementation("org.luaj:luaj-jse:3.0.1")
+    // Bytecode generation for luaj's LuaJC (LuaCompileMode.BYTECODE)
+    implementation("org.apache.bcel:bcel:5.2")
 
     testImplementation("org.spigotmc:spigot-api:1.21.11-R0.1-SNAPSHOT")
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
@@ -14,10 +14,14 @@ import com.magmaguy.magmacore.instance.InstanceProtector;
 import com.magmaguy.magmacore.instance.MatchInstance;
 import com.magmaguy.magmacore.instance.MatchInstanceWorld;
 import com.magmaguy.magmacore.instance.MatchPlayer;
+import com.magmaguy.magmacore.location.LocationQueryRegistry;
+import com.magmaguy.magmacore.location.api.LocationOwnership;
 import com.magmaguy.magmacore.menus.AdvancedMenuHandler;
 import com.magmaguy.magmacore.menus.SetupMenu;
 import com.magmaguy.magmacore.nightbreak.NightbreakAccount;
 import com.magmaguy.magmacore.nightbreak.NightbreakPluginStateRegistry;
+import com.magmaguy.magmacore.scripting.ScriptScheduler;
+import com.magmaguy.magmacore.scripting.tables.LuaWorldTable;
 import com.magmaguy.magmacore.thirdparty.CustomBiomeCompatibility;
 import com.magmaguy.magmacore.util.Logger;
 import com.magmaguy.magmacore.util.TemporaryBlockManager;
@@ -90,6 +94,9 @@ public final class MagmaCore {
         Bukkit.getPluginManager().registerEvents(new SetupMenu.SetupMenuListeners(), plugin);
         Bukkit.getPluginManager().registerEvents(new AdvancedMenuHandler.AdvancedMenuListeners(), plugin);
         TemporaryBlockManager.initialize(plugin);
+        Bukkit.getPluginManager().registerEvents(new LuaWorldTable.LuaWorldTableEvents(), plugin);
+        Bukkit.getPluginManager().registerEvents(new LocationOwnership.LocationOwnershipEvents(), plugin);
+        Bukkit.getPluginManager().registerEvents(new LocationQueryRegistry.LocationQueryRegistryEvents(), plugin);
 //        CommandManager commandManager = new CommandManager(instance.requestingPlugin, "logify");
 //        commandManager.registerCommand(new LogifyCommand(instance.requestingPlugin));
     }
@@ -140,6 +147,8 @@ public final class MagmaCore {
         InstanceProtector.shutdown();
         instanceProtectorRegistered = false;
         TemporaryBlockManager.shutdown();
+        ScriptScheduler.shutdown();
+        LocationOwnership.shutdown();
     }
 
     public static void shutdown(JavaPlugin plugin) {
@@ -0,0 +1,152 @@
+package com.magmaguy.magmacore.location;
+
+import org.bukkit.Location;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of per-block answers, for location queries that are asked far more often than their answer changes.
+ * <p>
+ * Each world gets a fixed-size, direct-mapped table indexed by the packed block position, so a new answer replaces
+ * whatever shared its slot and memory never grows past {@code capacity} slots per world. An answer is only returned
+ * if it was stored under the caller's current epoch and is younger than the time to live, which bounds how stale an
+ * answer can get for providers that never report their changes.
+ * <p>
+ * Safe to use from any thread; a reader racing a writer at worst sees a miss.
+ */
+public final class BlockResultCache<V> {
+
+    private final int indexShift;
+    private final int capacity;
+    private final Map<UUID, Slot<V>[]> worlds = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile long ttlMillis;
+
+    /**
+     * @param capacity  slots per world, rounded up to a power of two
+     * @param ttlMillis how long an answer may be served before it is recomputed
+     */
+    public BlockResultCache(int capacity, long ttlMillis) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.indexShift = 64 - Integer.numberOfTrailingZeros(this.capacity);
+        this.ttlMillis = ttlMillis;
+    }
+
+    private record Slot<V>(long key, int epoch, long expiresAt, V value) {
+    }
+
+    /**
+     * @return the answer stored for the block at {@code location} under {@code epoch}, or null if there is none
+     */
+    public V get(Location location, int epoch) {
+        V value = peek(location, epoch);
+        if (value != null) hits.increment();
+        else misses.increment();
+        return value;
+    }
+
+    /**
+     * Same as {@link #get}, without counting a hit or miss. For callers whose cached values are filled in piece by
+     * piece and who count with {@link #recordHit()} and {@link #recordMiss()} themselves.
+     */
+    public V peek(Location location, int epoch) {
+        Slot<V>[] slots = worlds.get(location.getWorld().getUID());
+        if (slots == null) return null;
+        long key = blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        Slot<V> slot = slots[index(key)];
+        if (slot != null && slot.key == key && slot.epoch == epoch && System.currentTimeMillis() < slot.expiresAt)
+            return slot.value;
+        return null;
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void put(Location location, int epoch, V value) {
+        if (ttlMillis <= 0) return;
+        @SuppressWarnings("unchecked")
+        Slot<V>[] slots = worlds.computeIfAbsent(location.getWorld().getUID(), id -> new Slot[capacity]);
+        long key = blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        slots[index(key)] = new Slot<>(key, epoch, System.currentTimeMillis() + ttlMillis, value);
+    }
+
+    /**
+     * Drops every answer in the given world.
+     */
+    public void invalidate(UUID world) {
+        worlds.remove(world);
+    }
+
+    /**
+     * Drops every answer in the given chunk.
+     */
+    public void invalidate(UUID world, int chunkX, int chunkZ) {
+        Slot<V>[] slots = worlds.get(world);
+        if (slots == null) return;
+        for (int i = 0; i < slots.length; i++) {
+            Slot<V> slot = slots[i];
+            if (slot != null && blockX(slot.key) >> 4 == chunkX && blockZ(slot.key) >> 4 == chunkZ) slots[i] = null;
+        }
+    }
+
+    public void clear() {
+        worlds.clear();
+    }
+
+    /**
+     * Sets how long an answer may be served before it is recomputed. 0 or less turns the cache off.
+     */
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        if (ttlMillis <= 0) clear();
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Packs a block position into a long: 26 bits each for x and z, 12 bits for y.
+     */
+    static long blockKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | y & 0xFFF;
+    }
+
+    static int blockX(long key) {
+        return (int) (key >> 38);
+    }
+
+    static int blockY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    static int blockZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+    private int index(long key) {
+        return (int) (key * 0x9E3779B97F4A7C15L >>> indexShift);
+    }
+}
@@ -4,10 +4,14 @@ import com.magmaguy.magmacore.location.api.LocationOwnership;
 import com.magmaguy.magmacore.util.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
 
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Static registry of {@link DungeonLocator}s and {@link RegionProtectionProvider}s.
@@ -28,7 +32,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *
  * <p>Reads are lock-free via copy-on-write lists: registrations happen a handful
  * of times at plugin start-up and queries can occur many thousands of times per
- * second from scripts.
+ * second from scripts. Protection answers are additionally cached per block for
+ * a short time (see {@link #getProtectionCache()}).
  */
 public final class LocationQueryRegistry {
     private static final List<DungeonLocator> dungeonLocators = new CopyOnWriteArrayList<>();
@@ -36,6 +41,8 @@ public final class LocationQueryRegistry {
     private static final AtomicBoolean builtInProtectionInitialized = new AtomicBoolean(false);
     private static final AtomicBoolean warnedNoDungeonLocators = new AtomicBoolean(false);
     private static final AtomicBoolean warnedNoProtectionProviders = new AtomicBoolean(false);
+    private static final AtomicInteger protectionEpoch = new AtomicInteger();
+    private static final BlockResultCache<Boolean> protectionCache = new BlockResultCache<>(4096, 1000);
 
     private LocationQueryRegistry() {
     }
@@ -48,6 +55,7 @@ public final class LocationQueryRegistry {
     public static void registerProtectionProvider(RegionProtectionProvider provider) {
         if (provider == null) return;
         protectionProviders.add(provider);
+        protectionEpoch.incrementAndGet();
     }
 
     public static void unregisterDungeonLocator(DungeonLocator locator) {
@@ -55,7 +63,7 @@ public final class LocationQueryRegistry {
     }
 
     public static void unregisterProtectionProvider(RegionProtectionProvider provider) {
-        protectionProviders.remove(provider);
+        if (protectionProviders.remove(provider)) protectionEpoch.incrementAndGet();
     }
 
     public static boolean isInAnyDungeon(Location location) {
@@ -75,7 +83,7 @@ public final class LocationQueryRegistry {
         if (LocationOwnership.anyOwnerAt(location)) return true;
 
         if (dungeonLocators.isEmpty()
-                && Bukkit.getServicesManager().getRegistrations(java.util.function.Predicate.class).isEmpty()
+                && !LocationOwnership.hasProviders()
                 && warnedNoDungeonLocators.compareAndSet(false, true)) {
             Logger.warn("is_in_dungeon called but no dungeon locators or LocationOwnership "
                     + "providers are registered. If EliteMobs is installed, ensure it is up to "
@@ -90,13 +98,7 @@ public final class LocationQueryRegistry {
 
         // Local protection providers (WorldGuard/GriefPrevention adapters and any
         // plugin that called registerProtectionProvider on this same shaded copy).
-        for (RegionProtectionProvider provider : protectionProviders) {
-            try {
-                if (provider.isProtected(location)) return true;
-            } catch (Throwable t) {
-                Logger.warn("RegionProtectionProvider '" + provider.providerName() + "' threw during query: " + t.getMessage());
-            }
-        }
+        if (isLocallyProtected(location)) return true;
 
         // Cross-plugin: LocationOwnership entries can opt-in to also report
         // protection via their own check (e.g. EM checks dungeon config).
@@ -105,7 +107,7 @@ public final class LocationQueryRegistry {
         if (LocationOwnership.anyProtectedOwnerAt(location)) return true;
 
         if (protectionProviders.isEmpty()
-                && Bukkit.getServicesManager().getRegistrations(java.util.function.Predicate.class).isEmpty()
+                && !LocationOwnership.hasProviders()
                 && warnedNoProtectionProviders.compareAndSet(false, true)) {
             Logger.warn("is_protected called but no protection providers or LocationOwnership "
                     + "owners are registered. Install WorldGuard / GriefPrevention or have a "
@@ -114,6 +116,25 @@ public final class LocationQueryRegistry {
         return false;
     }
 
+    /**
+     * Per-block cache of the local protection providers' answers, exposed for its hit/miss counters and time to
+     * live. None of the built-in providers report region changes, so the time to live bounds how long an edited
+     * region can keep its old answer.
+     */
+    public static BlockResultCache<?> getProtectionCache() {
+        return protectionCache;
+    }
+
+    /**
+     * Drops cached protection answers for unloaded worlds. Registered by {@code MagmaCore.onEnable}.
+     */
+    public static class LocationQueryRegistryEvents implements Listener {
+        @EventHandler
+        public void onWorldUnload(WorldUnloadEvent event) {
+            protectionCache.invalidate(event.getWorld().getUID());
+        }
+    }
+
     public static int getDungeonLocatorCount() {
         return dungeonLocators.size();
     }
@@ -151,11 +172,33 @@ public final class LocationQueryRegistry {
     public static void shutdown() {
         dungeonLocators.clear();
         protectionProviders.clear();
+        protectionEpoch.incrementAndGet();
+        protectionCache.clear();
         builtInProtectionInitialized.set(false);
         warnedNoDungeonLocators.set(false);
         warnedNoProtectionProviders.set(false);
     }
 
+    private static boolean isLocallyProtected(Location location) {
+        if (protectionProviders.isEmpty()) return false;
+        int epoch = protectionEpoch.get();
+        Boolean cached = protectionCache.get(location, epoch);
+        if (cached != null) return cached;
+        boolean result = false;
+        for (RegionProtectionProvider provider : protectionProviders) {
+            try {
+                if (provider.isProtected(location)) {
+                    result = true;
+                    break;
+                }
+            } catch (Throwable t) {
+                Logger.warn("RegionProtectionProvider '" + provider.providerName() + "' threw during query: " + t.getMessage());
+            }
+        }
+        protectionCache.put(location, epoch, result);
+        return result;
+    }
+
     private static void ensureBuiltInProtectionProviders() {
         if (!builtInProtectionInitialized.compareAndSet(false, true)) return;
         tryRegisterProtection("WorldGuard", "com.magmaguy.magmacore.thirdparty.worldguard.WorldGuardProtectionProvider");
@@ -169,6 +212,7 @@ public final class LocationQueryRegistry {
             Object instance = cls.getDeclaredConstructor().newInstance();
             if (instance instanceof RegionProtectionProvider provider) {
                 protectionProviders.add(provider);
+                protectionEpoch.incrementAndGet();
                 Logger.info("Registered " + provider.providerName() + " protection provider.");
             }
         } catch (NoClassDefFoundError | ReflectiveOperationException ex) {
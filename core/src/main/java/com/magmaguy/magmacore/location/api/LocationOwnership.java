@@ -1,18 +1,38 @@
 package com.magmaguy.magmacore.location.api;
 
+import com.magmaguy.magmacore.location.BlockResultCache;
+import com.magmaguy.magmacore.util.ChunkKeyMap;
+import com.magmaguy.magmacore.util.ChunkLocationChecker;
 import com.magmaguy.magmacore.util.Logger;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.bukkit.plugin.ServicePriority;
+import org.bukkit.util.BoundingBox;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -29,16 +49,37 @@ import java.util.function.Predicate;
  * consumer plugins. Registrations are keyed under {@link Predicate} (a JDK
  * class with stable identity across classloaders); each plugin's shaded copy
  * of {@link LocationOwnershipEntry} is identified by its simple class name —
- * which the shade relocation does not rename — and dispatched via reflection
- * on JDK-stable method signatures.
+ * which the shade relocation does not rename — and dispatched through method
+ * handles bound to JDK-stable method signatures.
+ *
+ * <p>Queries run against an immutable snapshot of the registered entries. Once
+ * {@link LocationOwnershipEvents} is listening (MagmaCore registers it on
+ * enable), the snapshot is only rebuilt when a {@link Predicate} service is
+ * registered or unregistered; before that it is rebuilt on every query.
+ * Answers are also cached per block for a short time (see {@link #getCache()}).
+ * Owners registered through {@link #registerRegions} are only asked about
+ * locations inside the boxes they declare, found through a per-world index.
+ * Owners whose regions change at runtime should call
+ * {@link #invalidate(String, World, int, int)} or one of its wider overloads
+ * so the change is seen immediately.
  *
  * <p>Bukkit auto-unregisters all of a plugin's services when the plugin
  * disables, so callers don't need to clean up.
  */
 public final class LocationOwnership {
 
-    /** Cached reflective methods, keyed by the entry's Class. */
-    private static final java.util.Map<Class<?>, EntryMethods> methodCache = new ConcurrentHashMap<>();
+    /** Unbound method handles, keyed by the entry's Class. */
+    private static final Map<Class<?>, EntryMethods> methodCache = new ConcurrentHashMap<>();
+    private static final Provider[] NO_PROVIDERS = new Provider[0];
+    private static final MethodType TEST_TYPE = MethodType.methodType(boolean.class, Location.class);
+    private static final MethodType KINDS_TYPE = MethodType.methodType(Set.class, Location.class);
+    private static final MethodType REGIONS_TYPE = MethodType.methodType(Collection.class, World.class);
+    private static final AtomicInteger generation = new AtomicInteger();
+    private static volatile Snapshot snapshot;
+    private static volatile boolean listening = false;
+    private static final AtomicInteger cacheEpoch = new AtomicInteger();
+    private static final BlockResultCache<Answer> cache = new BlockResultCache<>(4096, 1000);
+    private static final Map<UUID, RegionIndex> regionIndexes = new ConcurrentHashMap<>();
 
     private LocationOwnership() {
     }
@@ -94,6 +135,26 @@ public final class LocationOwnership {
         register(plugin, new LocationOwnershipEntry(namespace, ownsFn, kindsFn, protectionFn));
     }
 
+    /**
+     * Register a plugin as owning the volumes {@code regionsFn} declares in each world, such as dungeon or
+     * instance bounds. Locations outside every declared box are never owned by {@code namespace}, and its checks
+     * are only run for locations inside one, so providers with many small regions cost nothing elsewhere. Call
+     * {@link #invalidate(String, World)} when the regions of a world change.
+     *
+     * @param regionsFn    returns the boxes owned in a world (null or empty for none)
+     * @param ownsLocation optional fine-grained check inside the boxes; null to own every location in them
+     * @param kindsFn      optional kind tags, as in {@link #registerTyped(Plugin, String, Function)}
+     * @param protectionFn optional protection check, as in {@link #register(Plugin, String, Predicate, Predicate)}
+     */
+    public static void registerRegions(Plugin plugin, String namespace,
+                                       Function<World, Collection<BoundingBox>> regionsFn,
+                                       Predicate<Location> ownsLocation,
+                                       Function<Location, Set<String>> kindsFn,
+                                       Predicate<Location> protectionFn) {
+        register(plugin, new LocationOwnershipEntry(namespace, ownsLocation, kindsFn, protectionFn,
+                Objects.requireNonNull(regionsFn, "regionsFn")));
+    }
+
     /**
      * Lower-level escape hatch — register a pre-built entry directly. Useful
      * when ownership and kind queries should not run the same underlying logic
@@ -108,32 +169,34 @@ public final class LocationOwnership {
     /** All namespaces that own this location, across every consumer plugin. */
     public static Set<String> ownersAt(Location loc) {
         if (loc == null || loc.getWorld() == null) return Collections.emptySet();
-        Set<String> owners = new HashSet<>();
-        for (Object provider : ourProviders()) {
-            EntryMethods m = methodsFor(provider.getClass());
-            if (m == null) continue;
-            try {
-                if ((boolean) m.test.invoke(provider, loc)) {
-                    owners.add((String) m.getNamespace.invoke(provider));
-                }
-            } catch (ReflectiveOperationException e) {
-                Logger.warn("LocationOwnership.ownersAt dispatch failed: " + e.getMessage());
-            }
-        }
-        return owners;
+        Answer answer = answerAt(loc);
+        Set<String> owners = answer.owners;
+        if (owners == null) owners = scanOwners(answer, loc, false);
+        else recordHit();
+        // Copied so callers can't change the cached answer
+        return owners.isEmpty() ? Collections.emptySet() : new HashSet<>(owners);
     }
 
     /** True if {@code namespace} owns the given location. */
     public static boolean ownedBy(Location loc, String namespace) {
         if (loc == null || loc.getWorld() == null || namespace == null) return false;
-        for (Object provider : ourProviders()) {
-            EntryMethods m = methodsFor(provider.getClass());
-            if (m == null) continue;
+        Answer answer = answerAt(loc);
+        Set<String> owners = answer.owners;
+        if (owners != null || answer.anyOwner == Boolean.FALSE) {
+            recordHit();
+            return owners != null && owners.contains(namespace);
+        }
+        // Only this namespace's providers need asking
+        recordMiss();
+        Provider[] providers = providers();
+        RegionIndex regions = providers.length == 0 ? null : regionIndex(loc.getWorld(), providers);
+        for (Provider provider : providers) {
+            if (!namespace.equals(provider.namespace) || !regions.mayOwn(provider, loc.getX(), loc.getY(), loc.getZ()))
+                continue;
             try {
-                if (!namespace.equals(m.getNamespace.invoke(provider))) continue;
-                if ((boolean) m.test.invoke(provider, loc)) return true;
-            } catch (ReflectiveOperationException e) {
-                Logger.warn("LocationOwnership.ownedBy dispatch failed: " + e.getMessage());
+                if ((boolean) provider.test.invokeExact(loc)) return true;
+            } catch (Throwable t) {
+                Logger.warn("LocationOwnership.ownedBy dispatch failed: " + t.getMessage());
             }
         }
         return false;
@@ -142,78 +205,291 @@ public final class LocationOwnership {
     /** Aggregate kind tags at {@code loc} from every owner that claims it. */
     public static Set<String> kindsAt(Location loc) {
         if (loc == null || loc.getWorld() == null) return Collections.emptySet();
-        Set<String> result = new HashSet<>();
-        for (Object provider : ourProviders()) {
-            EntryMethods m = methodsFor(provider.getClass());
-            if (m == null) continue;
-            try {
-                @SuppressWarnings("unchecked")
-                Set<String> kinds = (Set<String>) m.kindsAt.invoke(provider, loc);
-                if (kinds != null) result.addAll(kinds);
-            } catch (ReflectiveOperationException e) {
-                Logger.warn("LocationOwnership.kindsAt dispatch failed: " + e.getMessage());
-            }
-        }
-        return result;
+        Answer answer = answerAt(loc);
+        Set<String> kinds = answer.kinds;
+        if (kinds == null) kinds = scanKinds(answer, loc, null);
+        else recordHit();
+        // Copied so callers can't change the cached answer
+        return kinds.isEmpty() ? Collections.emptySet() : new HashSet<>(kinds);
     }
 
     /** True if any registered owner reports {@code kind} at {@code loc}. */
     public static boolean hasKind(Location loc, String kind) {
-        if (kind == null) return false;
-        return kindsAt(loc).contains(kind);
+        if (kind == null || loc == null || loc.getWorld() == null) return false;
+        Answer answer = answerAt(loc);
+        Set<String> kinds = answer.kinds;
+        if (kinds == null) return scanKinds(answer, loc, kind) == null;
+        recordHit();
+        return kinds.contains(kind);
     }
 
     /** True if at least one owner claims this location. */
     public static boolean anyOwnerAt(Location loc) {
         if (loc == null || loc.getWorld() == null) return false;
-        for (Object provider : ourProviders()) {
-            EntryMethods m = methodsFor(provider.getClass());
-            if (m == null) continue;
-            try {
-                if ((boolean) m.test.invoke(provider, loc)) return true;
-            } catch (ReflectiveOperationException e) {
-                Logger.warn("LocationOwnership.anyOwnerAt dispatch failed: " + e.getMessage());
-            }
-        }
-        return false;
+        Answer answer = answerAt(loc);
+        Boolean anyOwner = answer.anyOwner;
+        if (anyOwner == null) anyOwner = !scanOwners(answer, loc, true).isEmpty();
+        else recordHit();
+        return anyOwner;
     }
 
     /** True if at least one owner protects this location (write/grief restrictions apply). */
     public static boolean anyProtectedOwnerAt(Location loc) {
         if (loc == null || loc.getWorld() == null) return false;
-        for (Object provider : ourProviders()) {
-            EntryMethods m = methodsFor(provider.getClass());
-            if (m == null || m.isProtectedAt == null) continue;
+        Answer answer = answerAt(loc);
+        Boolean protectedOwner = answer.protectedOwner;
+        if (protectedOwner == null) {
+            protectedOwner = scanProtection(loc);
+            answer.protectedOwner = protectedOwner;
+        } else {
+            recordHit();
+        }
+        return protectedOwner;
+    }
+
+    /** True if any plugin has registered a location ownership entry. */
+    public static boolean hasProviders() {
+        return providers().length > 0;
+    }
+
+    /**
+     * Per-block cache of ownership answers, exposed for its hit/miss counters and time to live. Answers are only
+     * cached while {@link LocationOwnershipEvents} is listening. A query counts as a hit when the part of the answer
+     * it needs (owners, kinds or protection) was already known, and as a miss when it had to ask the providers.
+     */
+    public static BlockResultCache<?> getCache() {
+        return cache;
+    }
+
+    /**
+     * Drops the provider snapshot and every cached answer. Called automatically when a {@link Predicate} service
+     * is registered or unregistered.
+     */
+    public static void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        regionIndexes.clear();
+        LocationOwnershipEntry.invalidateRegions();
+        cacheEpoch.incrementAndGet();
+    }
+
+    /**
+     * Tells MagmaCore that the locations {@code namespace} owns, its kinds or its protection have changed
+     * anywhere, so cached answers must be recomputed. Cached answers combine every owner, so this drops all of
+     * them; prefer the world or chunk overloads when the change is local.
+     */
+    public static void invalidate(String namespace) {
+        regionIndexes.clear();
+        LocationOwnershipEntry.invalidateRegions();
+        cacheEpoch.incrementAndGet();
+    }
+
+    /** Same as {@link #invalidate(String)}, for a change limited to one world. Declared regions are re-read. */
+    public static void invalidate(String namespace, World world) {
+        if (world == null) return;
+        regionIndexes.remove(world.getUID());
+        LocationOwnershipEntry.invalidateRegions();
+        cache.invalidate(world.getUID());
+    }
+
+    /**
+     * Same as {@link #invalidate(String)}, for a change limited to one chunk. Declared regions are only re-read
+     * by the wider overloads.
+     */
+    public static void invalidate(String namespace, World world, int chunkX, int chunkZ) {
+        if (world == null) return;
+        cache.invalidate(world.getUID(), chunkX, chunkZ);
+    }
+
+    public static void shutdown() {
+        listening = false;
+        invalidate();
+        cache.clear();
+    }
+
+    /**
+     * Keeps the provider snapshot and answer cache in sync with Bukkit's {@code ServicesManager}. Registered by
+     * {@code MagmaCore.onEnable}.
+     */
+    public static class LocationOwnershipEvents implements Listener {
+        public LocationOwnershipEvents() {
+            listening = true;
+            invalidate();
+        }
+
+        @EventHandler
+        public void onServiceRegister(ServiceRegisterEvent event) {
+            if (event.getProvider().getService() == Predicate.class) invalidate();
+        }
+
+        @EventHandler
+        public void onServiceUnregister(ServiceUnregisterEvent event) {
+            if (event.getProvider().getService() == Predicate.class) invalidate();
+        }
+
+        @EventHandler
+        public void onWorldUnload(WorldUnloadEvent event) {
+            regionIndexes.remove(event.getWorld().getUID());
+            LocationOwnershipEntry.invalidateRegions();
+            cache.invalidate(event.getWorld().getUID());
+        }
+    }
+
+    /**
+     * Gets the cached answer for the block, or an empty one to fill in. Hits and misses are counted by the query,
+     * against the part of the answer it needs, not here.
+     */
+    private static Answer answerAt(Location loc) {
+        if (!listening) return new Answer();
+        int epoch = cacheEpoch.get();
+        Answer answer = cache.peek(loc, epoch);
+        if (answer == null) {
+            answer = new Answer();
+            cache.put(loc, epoch, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Asks the providers who owns {@code loc} and records it in {@code answer}. With {@code firstOnly}, stops at
+     * the first owner and only records that there is one.
+     *
+     * @return the owners, or a single owner if {@code firstOnly} found one
+     */
+    private static Set<String> scanOwners(Answer answer, Location loc, boolean firstOnly) {
+        recordMiss();
+        Provider[] providers = providers();
+        Set<String> owners = null;
+        if (providers.length > 0) {
+            RegionIndex regions = regionIndex(loc.getWorld(), providers);
+            for (Provider provider : providers) {
+                if (!regions.mayOwn(provider, loc.getX(), loc.getY(), loc.getZ())) continue;
+                try {
+                    if (!(boolean) provider.test.invokeExact(loc)) continue;
+                } catch (Throwable t) {
+                    Logger.warn("LocationOwnership.ownersAt dispatch failed: " + t.getMessage());
+                    continue;
+                }
+                if (firstOnly) {
+                    answer.anyOwner = Boolean.TRUE;
+                    return Collections.singleton(provider.namespace);
+                }
+                if (owners == null) owners = new HashSet<>();
+                owners.add(provider.namespace);
+            }
+        }
+        Set<String> result = owners == null ? Collections.emptySet() : owners;
+        answer.owners = result;
+        answer.anyOwner = !result.isEmpty();
+        return result;
+    }
+
+    /**
+     * Asks the providers for the kinds at {@code loc} and records them in {@code answer}. Stops early, without
+     * recording anything, once a provider reports {@code stopAt}.
+     *
+     * @return the kinds, or null if it stopped at {@code stopAt}
+     */
+    private static Set<String> scanKinds(Answer answer, Location loc, String stopAt) {
+        recordMiss();
+        Provider[] providers = providers();
+        Set<String> kinds = null;
+        if (providers.length > 0) {
+            RegionIndex regions = regionIndex(loc.getWorld(), providers);
+            for (Provider provider : providers) {
+                if (!regions.mayOwn(provider, loc.getX(), loc.getY(), loc.getZ())) continue;
+                try {
+                    @SuppressWarnings("unchecked")
+                    Set<String> providerKinds = (Set<String>) provider.kindsAt.invokeExact(loc);
+                    if (providerKinds == null || providerKinds.isEmpty()) continue;
+                    if (stopAt != null && providerKinds.contains(stopAt)) return null;
+                    if (kinds == null) kinds = new HashSet<>();
+                    kinds.addAll(providerKinds);
+                } catch (Throwable t) {
+                    Logger.warn("LocationOwnership.kindsAt dispatch failed: " + t.getMessage());
+                }
+            }
+        }
+        Set<String> result = kinds == null ? Collections.emptySet() : kinds;
+        answer.kinds = result;
+        return result;
+    }
+
+    private static boolean scanProtection(Location loc) {
+        recordMiss();
+        Provider[] providers = providers();
+        if (providers.length == 0) return false;
+        RegionIndex regions = regionIndex(loc.getWorld(), providers);
+        for (Provider provider : providers) {
+            if (provider.isProtectedAt == null || !regions.mayOwn(provider, loc.getX(), loc.getY(), loc.getZ())) continue;
             try {
-                if ((boolean) m.isProtectedAt.invoke(provider, loc)) return true;
-            } catch (ReflectiveOperationException e) {
-                Logger.warn("LocationOwnership.anyProtectedOwnerAt dispatch failed: " + e.getMessage());
+                if ((boolean) provider.isProtectedAt.invokeExact(loc)) return true;
+            } catch (Throwable t) {
+                Logger.warn("LocationOwnership.anyProtectedOwnerAt dispatch failed: " + t.getMessage());
             }
         }
         return false;
     }
 
-    private static Collection<Object> ourProviders() {
-        Collection<RegisteredServiceProvider<Predicate>> regs =
-                Bukkit.getServicesManager().getRegistrations(Predicate.class);
-        Set<Object> ours = new HashSet<>();
-        for (RegisteredServiceProvider<Predicate> rsp : regs) {
+    // Only counted while answers are cached
+    private static void recordHit() {
+        if (listening) cache.recordHit();
+    }
+
+    private static void recordMiss() {
+        if (listening) cache.recordMiss();
+    }
+
+    private static RegionIndex regionIndex(World world, Provider[] providers) {
+        if (!listening) return RegionIndex.build(world, providers);
+        RegionIndex index = regionIndexes.get(world.getUID());
+        if (index != null && index.providers == providers) return index;
+        index = RegionIndex.build(world, providers);
+        regionIndexes.put(world.getUID(), index);
+        return index;
+    }
+
+    private static Provider[] providers() {
+        Snapshot current = snapshot;
+        int currentGeneration = generation.get();
+        if (current != null && current.generation == currentGeneration) return current.providers;
+        Provider[] providers = buildProviders();
+        // Only keep it if nothing was registered or unregistered while it was being built
+        if (listening && generation.get() == currentGeneration) snapshot = new Snapshot(currentGeneration, providers);
+        return providers;
+    }
+
+    private static Provider[] buildProviders() {
+        Map<Object, Boolean> seen = new IdentityHashMap<>();
+        List<Provider> providers = new ArrayList<>();
+        for (RegisteredServiceProvider<Predicate> rsp : Bukkit.getServicesManager().getRegistrations(Predicate.class)) {
             Object p = rsp.getProvider();
-            if (p == null) continue;
+            if (p == null || seen.put(p, Boolean.TRUE) != null) continue;
             // Identify our entries by simple class name — preserved through shade
             // relocation, so EliteMobs's shaded copy and FMM's shaded copy both
             // qualify even though they're different Class<?> instances.
-            if ("LocationOwnershipEntry".equals(p.getClass().getSimpleName())) {
-                ours.add(p);
+            if (!"LocationOwnershipEntry".equals(p.getClass().getSimpleName())) continue;
+            EntryMethods m = methodsFor(p.getClass());
+            if (m == null) continue;
+            try {
+                providers.add(new Provider(
+                        (String) m.getNamespace.invoke(p),
+                        m.test.bindTo(p),
+                        m.kindsAt.bindTo(p),
+                        m.isProtectedAt == null ? null : m.isProtectedAt.bindTo(p),
+                        m.regionsIn == null ? null : m.regionsIn.bindTo(p)));
+            } catch (Throwable t) {
+                Logger.warn("LocationOwnership: could not bind " + p.getClass().getName() + ": " + t.getMessage());
             }
         }
-        return ours;
+        return providers.isEmpty() ? NO_PROVIDERS : providers.toArray(new Provider[0]);
     }
 
     private static EntryMethods methodsFor(Class<?> cls) {
         EntryMethods cached = methodCache.get(cls);
         if (cached != null) return cached;
         try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
             // isProtectedAt is optional — older shaded copies (from a plugin
             // built against a pre-protection MagmaCore) won't have it.
             Method protectedM = null;
@@ -221,20 +497,121 @@ public final class LocationOwnership {
                 protectedM = cls.getMethod("isProtectedAt", Location.class);
             } catch (NoSuchMethodException ignored) {
             }
+            // Likewise regionsIn, from copies that predate region declarations.
+            Method regionsM = null;
+            try {
+                regionsM = cls.getMethod("regionsIn", World.class);
+            } catch (NoSuchMethodException ignored) {
+            }
+            // Adapt every handle to (receiver, Location) so bound copies can be called with invokeExact
             EntryMethods m = new EntryMethods(
-                    cls.getMethod("getNamespace"),
-                    cls.getMethod("test", Object.class),
-                    cls.getMethod("kindsAt", Location.class),
-                    protectedM);
+                    lookup.unreflect(cls.getMethod("getNamespace")),
+                    adapt(lookup.unreflect(cls.getMethod("test", Object.class)), TEST_TYPE),
+                    adapt(lookup.unreflect(cls.getMethod("kindsAt", Location.class)), KINDS_TYPE),
+                    protectedM == null ? null : adapt(lookup.unreflect(protectedM), TEST_TYPE),
+                    regionsM == null ? null : adapt(lookup.unreflect(regionsM), REGIONS_TYPE));
             methodCache.put(cls, m);
             return m;
-        } catch (NoSuchMethodException e) {
+        } catch (NoSuchMethodException | IllegalAccessException e) {
             Logger.warn("LocationOwnership: registration with unexpected shape "
                     + cls.getName() + " — missing " + e.getMessage());
             return null;
         }
     }
 
-    private record EntryMethods(Method getNamespace, Method test, Method kindsAt, Method isProtectedAt) {
+    private static MethodHandle adapt(MethodHandle handle, MethodType type) {
+        return handle.asType(type.insertParameterTypes(0, Object.class));
+    }
+
+    private record Snapshot(int generation, Provider[] providers) {
+    }
+
+    /**
+     * The boxes every region-declaring provider owns in one world, bucketed by the chunks they cover. Built for
+     * one provider snapshot and rebuilt when that snapshot changes.
+     */
+    private static final class RegionIndex {
+        // Boxes covering more chunks than this are checked for every query in their world instead
+        private static final int MAX_INDEXED_CHUNKS = 1024;
+        private static final List<Region> NO_REGIONS = Collections.emptyList();
+
+        private final Provider[] providers;
+        private final Set<Provider> regional = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final ChunkKeyMap<List<Region>> chunks = new ChunkKeyMap<>();
+        private final List<Region> unindexed = new ArrayList<>();
+
+        private RegionIndex(Provider[] providers) {
+            this.providers = providers;
+        }
+
+        private record Region(Provider provider, BoundingBox box) {
+        }
+
+        static RegionIndex build(World world, Provider[] providers) {
+            RegionIndex index = new RegionIndex(providers);
+            for (Provider provider : providers) {
+                if (provider.regionsIn == null) continue;
+                Collection<BoundingBox> boxes;
+                try {
+                    @SuppressWarnings("unchecked")
+                    Collection<BoundingBox> declared = (Collection<BoundingBox>) provider.regionsIn.invokeExact(world);
+                    boxes = declared;
+                } catch (Throwable t) {
+                    Logger.warn("LocationOwnership.regionsIn dispatch failed for " + provider.namespace + ": " + t.getMessage());
+                    boxes = Collections.emptyList();
+                }
+                if (boxes == null) continue;
+                index.regional.add(provider);
+                for (BoundingBox box : boxes) if (box != null) index.add(new Region(provider, box.clone()));
+            }
+            return index;
+        }
+
+        private void add(Region region) {
+            int minX = (int) Math.floor(region.box.getMinX()) >> 4;
+            int maxX = (int) Math.floor(region.box.getMaxX()) >> 4;
+            int minZ = (int) Math.floor(region.box.getMinZ()) >> 4;
+            int maxZ = (int) Math.floor(region.box.getMaxZ()) >> 4;
+            if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > MAX_INDEXED_CHUNKS) {
+                unindexed.add(region);
+                return;
+            }
+            for (int chunkX = minX; chunkX <= maxX; chunkX++)
+                for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++)
+                    chunks.computeIfAbsent(ChunkLocationChecker.chunkKey(chunkX, chunkZ), key -> new ArrayList<>()).add(region);
+        }
+
+        /**
+         * False if {@code provider} declares regions and none of them holds the position.
+         */
+        boolean mayOwn(Provider provider, double x, double y, double z) {
+            if (!regional.contains(provider)) return true;
+            long chunkKey = ChunkLocationChecker.chunkKey((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+            for (Region region : chunks.getOrDefault(chunkKey, NO_REGIONS))
+                if (region.provider == provider && region.box.contains(x, y, z)) return true;
+            for (Region region : unindexed)
+                if (region.provider == provider && region.box.contains(x, y, z)) return true;
+            return false;
+        }
+    }
+
+    /**
+     * What is known about one block. Each part is filled in by the first query that needs it, so a cache miss only
+     * costs the provider calls that query makes, and yes/no queries still stop at the first provider that says yes.
+     * Null means not asked yet.
+     */
+    private static final class Answer {
+        volatile Set<String> owners;
+        volatile Boolean anyOwner;
+        volatile Set<String> kinds;
+        volatile Boolean protectedOwner;
+    }
+
+    private record Provider(String namespace, MethodHandle test, MethodHandle kindsAt, MethodHandle isProtectedAt,
+                            MethodHandle regionsIn) {
+    }
+
+    private record EntryMethods(MethodHandle getNamespace, MethodHandle test, MethodHandle kindsAt,
+                                MethodHandle isProtectedAt, MethodHandle regionsIn) {
     }
 }
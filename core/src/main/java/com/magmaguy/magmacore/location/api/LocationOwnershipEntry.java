@@ -1,10 +1,19 @@
 package com.magmaguy.magmacore.location.api;
 
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -20,7 +29,14 @@ import java.util.function.Predicate;
  * lookup identifies "our" entries by simple class name (preserved through
  * shade relocation) and invokes them via reflection on the JDK-stable method
  * signatures {@link #getNamespace()}, {@link #test(Location)},
- * {@link #kindsAt(Location)} and {@link #isProtectedAt(Location)}.
+ * {@link #kindsAt(Location)}, {@link #isProtectedAt(Location)} and
+ * {@link #regionsIn(World)}.
+ *
+ * <p>An entry may declare the volumes it owns as bounding boxes per world. Such
+ * an entry owns, tags and protects nothing outside its boxes, which it checks
+ * itself so that older shaded copies calling {@link #test(Location)} directly
+ * get the same answer. {@link LocationOwnership} also indexes the boxes, so it
+ * only calls the entry for locations inside one of them.
  */
 public final class LocationOwnershipEntry implements Predicate<Location> {
 
@@ -28,13 +44,36 @@ public final class LocationOwnershipEntry implements Predicate<Location> {
     private final Predicate<Location> ownsFn;
     private final Function<Location, Set<String>> kindsFn;
     private final Predicate<Location> protectionFn;
+    private final Function<World, Collection<BoundingBox>> regionsFn;
+    // Boxes as last read per world; all dropped when the region generation moves on
+    private final Map<UUID, BoundingBox[]> regionCache = new ConcurrentHashMap<>();
+    private volatile int regionCacheGeneration = regionGeneration.get();
+
+    // Bumped by LocationOwnership whenever declared regions may have changed
+    private static final AtomicInteger regionGeneration = new AtomicInteger();
 
     public LocationOwnershipEntry(String namespace,
                                   Predicate<Location> ownsFn,
                                   Function<Location, Set<String>> kindsFn,
                                   Predicate<Location> protectionFn) {
+        this(namespace, ownsFn, kindsFn, protectionFn, null);
+    }
+
+    /**
+     * @param ownsFn    fine-grained ownership check, only asked about locations inside one of the regions. Null
+     *                  when every location inside a region is owned.
+     * @param regionsFn returns the boxes this entry owns in a world, or null / empty for none. Asked again after
+     *                  {@link LocationOwnership#invalidate(String)} or {@link LocationOwnership#invalidate(String, World)}
+     *                  for that world.
+     */
+    public LocationOwnershipEntry(String namespace,
+                                  Predicate<Location> ownsFn,
+                                  Function<Location, Set<String>> kindsFn,
+                                  Predicate<Location> protectionFn,
+                                  Function<World, Collection<BoundingBox>> regionsFn) {
         this.namespace = Objects.requireNonNull(namespace, "namespace");
-        this.ownsFn = Objects.requireNonNull(ownsFn, "ownsFn");
+        this.regionsFn = regionsFn;
+        this.ownsFn = regionsFn != null && ownsFn == null ? (loc -> true) : Objects.requireNonNull(ownsFn, "ownsFn");
         this.kindsFn = kindsFn != null ? kindsFn : (loc -> Collections.emptySet());
         // Default: ownership does NOT imply protection — owners must opt in.
         // Plugins with managed worlds where some areas are unprotected (e.g.
@@ -48,17 +87,60 @@ public final class LocationOwnershipEntry implements Predicate<Location> {
     }
 
     public Set<String> kindsAt(Location loc) {
+        if (!inRegions(loc)) return Collections.emptySet();
         Set<String> result = kindsFn.apply(loc);
         return result == null ? Collections.emptySet() : result;
     }
 
     /** True if this owner protects the given location (write/grief restrictions apply). */
     public boolean isProtectedAt(Location loc) {
-        return protectionFn.test(loc);
+        return inRegions(loc) && protectionFn.test(loc);
+    }
+
+    /**
+     * The boxes this entry owns in {@code world}, or null if it doesn't declare regions (and may own any location).
+     */
+    public Collection<BoundingBox> regionsIn(World world) {
+        if (regionsFn == null) return null;
+        Collection<BoundingBox> regions = regionsFn.apply(world);
+        return regions == null ? Collections.emptyList() : regions;
     }
 
     @Override
     public boolean test(Location loc) {
-        return ownsFn.test(loc);
+        return inRegions(loc) && ownsFn.test(loc);
+    }
+
+    /**
+     * Makes every entry read its regions again on next use.
+     */
+    static void invalidateRegions() {
+        regionGeneration.incrementAndGet();
+    }
+
+    /**
+     * True if this entry doesn't declare regions, or one of its boxes in the location's world holds it.
+     */
+    private boolean inRegions(Location loc) {
+        if (regionsFn == null) return true;
+        World world = loc.getWorld();
+        if (world == null) return false;
+        int generation = regionGeneration.get();
+        if (regionCacheGeneration != generation) {
+            regionCache.clear();
+            regionCacheGeneration = generation;
+        }
+        BoundingBox[] boxes = regionCache.get(world.getUID());
+        if (boxes == null) {
+            List<BoundingBox> declared = new ArrayList<>();
+            for (BoundingBox box : regionsIn(world)) if (box != null) declared.add(box.clone());
+            boxes = declared.toArray(new BoundingBox[0]);
+            regionCache.put(world.getUID(), boxes);
+        }
+        double x = loc.getX();
+        double y = loc.getY();
+        double z = loc.getZ();
+        for (BoundingBox box : boxes) if (box.contains(x, y, z)) return true;
+        return false;
     }
 }
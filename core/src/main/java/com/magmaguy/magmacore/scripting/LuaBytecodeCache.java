@@ -0,0 +1,98 @@
+package com.magmaguy.magmacore.scripting;
+
+import org.luaj.vm2.LuaFunction;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Prototype;
+import org.luaj.vm2.luajc.JavaLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LuaJC-compiled script classes, cached by source hash so reloading an unchanged script (or two files with the
+ * same source) doesn't generate and load the classes again. Each entry owns the class loader its classes live in;
+ * instances only need a new chunk object bound to their own globals.
+ */
+final class LuaBytecodeCache {
+
+    private static final Map<String, CompiledChunk> cache = new ConcurrentHashMap<>();
+
+    private LuaBytecodeCache() {
+    }
+
+    /**
+     * A compiled main chunk.
+     */
+    static final class CompiledChunk {
+        private final String hash;
+        private final JavaLoader loader;
+        private final String className;
+
+        private CompiledChunk(String hash, JavaLoader loader, String className) {
+            this.hash = hash;
+            this.loader = loader;
+            this.className = className;
+        }
+
+        /**
+         * Creates a new chunk function bound to the given environment.
+         */
+        LuaFunction newChunk(LuaValue environment) {
+            return loader.load(className, environment);
+        }
+    }
+
+    /**
+     * Gets the compiled chunk for this source, generating it on the first request.
+     * The generated classes are loaded and instantiated once here, so verification errors surface now rather than
+     * on the first spawn.
+     *
+     * @throws Throwable anything LuaJC or class loading throws; callers fall back to the interpreter
+     */
+    static CompiledChunk compile(String fileName, String source, Prototype prototype, LuaValue environment) throws Throwable {
+        String hash = hash(source);
+        CompiledChunk cached = cache.get(hash);
+        if (cached != null) return cached;
+
+        String className = "lua_" + hash.substring(0, 16) + "_" + toJavaIdentifier(fileName);
+        JavaLoader loader = new JavaLoader();
+        loader.load(prototype, className, fileName, environment);
+        CompiledChunk compiled = new CompiledChunk(hash, loader, className);
+        CompiledChunk existing = cache.putIfAbsent(hash, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * Drops {@code compiled} from the cache, so its class loader and classes can be collected once no running
+     * instance uses them. Callers must make sure no loaded definition still uses it.
+     */
+    static void evict(CompiledChunk compiled) {
+        cache.remove(compiled.hash, compiled);
+    }
+
+    static void clear() {
+        cache.clear();
+    }
+
+    private static String hash(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toJavaIdentifier(String fileName) {
+        StringBuilder builder = new StringBuilder(fileName.length());
+        for (int index = 0; index < fileName.length(); index++) {
+            char character = fileName.charAt(index);
+            builder.append(Character.isJavaIdentifierPart(character) ? character : '_');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.magmaguy.magmacore.scripting;
+
+/**
+ * How a script's chunk is executed.
+ */
+public enum LuaCompileMode {
+    /**
+     * Run on the luaj interpreter.
+     */
+    INTERPRETER,
+    /**
+     * Compile to JVM classes with luaj's LuaJC. Scripts LuaJC can't handle fall back to the interpreter.
+     */
+    BYTECODE
+}
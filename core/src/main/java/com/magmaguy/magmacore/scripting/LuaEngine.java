@@ -1,5 +1,6 @@
 package com.magmaguy.magmacore.scripting;
 
+import com.magmaguy.magmacore.scripting.tables.LuaWorldTable;
 import com.magmaguy.magmacore.util.Logger;
 
 import java.io.File;
@@ -8,21 +9,80 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class LuaEngine {
     private static final Map<String, ScriptProvider> providers = new ConcurrentHashMap<>();
     private static final Map<String, ScriptDefinition> definitions = new ConcurrentHashMap<>();
+    private static volatile LuaCompileMode defaultCompileMode = LuaCompileMode.INTERPRETER;
+    private static volatile long instructionBudget = 5_000_000L;
+    private static final int MAX_LOADER_THREADS = 8;
+    private static final Map<String, LuaScriptWatcher> watchers = new ConcurrentHashMap<>();
+    private static volatile boolean hotReloadEnabled = false;
 
     private LuaEngine() {}
 
     public static void registerScriptProvider(ScriptProvider provider) {
         providers.put(provider.getNamespace(), provider);
         discoverScripts(provider);
+        if (hotReloadEnabled) startWatching(provider);
     }
 
     public static void unregisterScriptProvider(String namespace) {
         providers.remove(namespace);
-        definitions.entrySet().removeIf(e -> e.getKey().startsWith(namespace + ":"));
+        stopWatching(namespace);
+        List<ScriptDefinition> removed = new ArrayList<>();
+        definitions.entrySet().removeIf(e -> {
+            if (!e.getKey().startsWith(namespace + ":")) return false;
+            removed.add(e.getValue());
+            return true;
+        });
+        removed.forEach(LuaEngine::releaseBytecode);
+    }
+
+    /**
+     * Turns watching script directories for changes on or off. While on, a changed {@code .lua} file is
+     * recompiled off the main thread and its definition replaced; entities spawned afterwards run the new version
+     * and running instances keep the one they started with. A file that fails to load keeps its previous version.
+     * <p>
+     * Off by default: it is meant for writing scripts, and costs a watcher thread per provider. Consuming plugins
+     * turn it on themselves, for example from a config option.
+     */
+    public static void setHotReloadEnabled(boolean enabled) {
+        hotReloadEnabled = enabled;
+        if (enabled) providers.values().forEach(LuaEngine::startWatching);
+        else new ArrayList<>(watchers.keySet()).forEach(LuaEngine::stopWatching);
+    }
+
+    public static boolean isHotReloadEnabled() {
+        return hotReloadEnabled;
+    }
+
+    /**
+     * Sets how scripts without their own {@code compile} field run. Only affects scripts loaded afterwards.
+     */
+    public static void setDefaultCompileMode(LuaCompileMode compileMode) {
+        defaultCompileMode = compileMode == null ? LuaCompileMode.INTERPRETER : compileMode;
+    }
+
+    public static LuaCompileMode getDefaultCompileMode() {
+        return defaultCompileMode;
+    }
+
+    /**
+     * Sets how many interpreter instructions a single hook or callback may run before it is aborted and its
+     * script disabled. 0 or less disables the limit. LuaJC-compiled scripts are only held to the wall-time limit.
+     */
+    public static void setInstructionBudget(long instructions) {
+        instructionBudget = instructions;
+    }
+
+    public static long getInstructionBudget() {
+        return instructionBudget;
     }
 
     public static ScriptDefinition getDefinition(String namespace, String fileName) {
@@ -38,46 +98,228 @@ public final class LuaEngine {
         return result;
     }
 
+    /**
+     * @return every loaded definition, keyed by {@code namespace:fileName}
+     */
+    public static Map<String, ScriptDefinition> getLoadedDefinitions() {
+        return Collections.unmodifiableMap(definitions);
+    }
+
     public static ScriptDefinition loadScript(String namespace, File file) throws IOException {
         ScriptProvider provider = providers.get(namespace);
         if (provider == null)
             throw new IllegalStateException("No script provider registered for namespace: " + namespace);
 
-        String source = Files.readString(file.toPath(), StandardCharsets.UTF_8).replace("\r", "");
-        ScriptDefinition definition = ScriptDefinition.validate(file.getName(), file, source, provider);
-        definitions.put(namespace + ":" + file.getName(), definition);
+        ScriptDefinition definition = readAndValidate(file, provider);
+        releaseBytecode(definitions.put(namespace + ":" + file.getName(), definition));
+        reportCompileStatus(namespace, definition);
         return definition;
     }
 
+    private static ScriptDefinition readAndValidate(File file, ScriptProvider provider) throws IOException {
+        String source = Files.readString(file.toPath(), StandardCharsets.UTF_8).replace("\r", "");
+        return ScriptDefinition.validate(file.getName(), file, source, provider);
+    }
+
     public static void shutdown() {
+        new ArrayList<>(watchers.keySet()).forEach(LuaEngine::stopWatching);
         definitions.clear();
         providers.clear();
+        LuaBytecodeCache.clear();
+        LuaWorldTable.clearCache();
+    }
+
+    private static void reportCompileStatus(String namespace, ScriptDefinition definition) {
+        switch (definition.getCompileStatus()) {
+            case COMPILED -> Logger.info("Compiled script " + namespace + ":" + definition.getFileName() + " to bytecode.");
+            case FALLBACK -> Logger.warn("Could not compile script " + namespace + ":" + definition.getFileName()
+                    + " to bytecode, running it on the interpreter instead: " + definition.getCompileFailure());
+            default -> {
+            }
+        }
+    }
+
+    private static void startWatching(ScriptProvider provider) {
+        if (watchers.containsKey(provider.getNamespace())) return;
+        LuaScriptWatcher watcher = LuaScriptWatcher.start(provider);
+        if (watcher != null) watchers.put(provider.getNamespace(), watcher);
     }
 
+    private static void stopWatching(String namespace) {
+        LuaScriptWatcher watcher = watchers.remove(namespace);
+        if (watcher != null) watcher.close();
+    }
+
+    /**
+     * Called from the watcher thread for a created or changed file.
+     */
+    static void reloadScript(ScriptProvider provider, File file) {
+        String namespace = provider.getNamespace();
+        try {
+            ScriptDefinition definition = readAndValidate(file, provider);
+            // The provider may have been unregistered while this file compiled
+            if (providers.get(namespace) != provider) return;
+            // Same-named files share a definition; only the one discovery would pick may replace it
+            File winner = discoveryWinner(provider, file.getName());
+            if (winner != null && !samePath(winner, file)) {
+                Logger.info("Not reloading script " + namespace + ":" + file.getName() + ", "
+                        + winner.getPath() + " takes precedence over it.");
+                return;
+            }
+            releaseBytecode(definitions.put(namespace + ":" + file.getName(), definition));
+            reportCompileStatus(namespace, definition);
+            Logger.info("Reloaded script " + namespace + ":" + file.getName() + ".");
+        } catch (IOException e) {
+            Logger.warn("Failed to read script: " + file.getName());
+        } catch (Exception e) {
+            Logger.warn("Failed to reload script " + namespace + ":" + file.getName()
+                    + ", keeping the previous version: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Called from the watcher thread for a deleted file.
+     */
+    static void removeScript(ScriptProvider provider, File file) {
+        if (providers.get(provider.getNamespace()) != provider) return;
+        String key = provider.getNamespace() + ":" + file.getName();
+        ScriptDefinition current = definitions.get(key);
+        // Deleting a file another same-named file took precedence over changes nothing
+        if (current == null || current.getSourceFile() == null || !samePath(current.getSourceFile(), file)) return;
+        File next = discoveryWinner(provider, file.getName());
+        if (next != null) {
+            // A same-named file discovery passed over takes its place
+            reloadScript(provider, next);
+            if (definitions.get(key) != current) return;
+        }
+        if (definitions.remove(key, current)) {
+            releaseBytecode(current);
+            Logger.info("Unloaded deleted script " + key + ".");
+        }
+    }
+
+    /**
+     * Gets the file {@link #discoverScripts} would load for {@code fileName}: the last one in sorted path order.
+     */
+    private static File discoveryWinner(ScriptProvider provider, String fileName) {
+        List<File> files = new ArrayList<>();
+        collectScripts(provider.getScriptDirectory().toFile(), files);
+        File winner = null;
+        for (File candidate : files) {
+            if (candidate.getName().equals(fileName)) winner = candidate;
+        }
+        return winner;
+    }
+
+    private static boolean samePath(File first, File second) {
+        return first.toPath().toAbsolutePath().normalize().equals(second.toPath().toAbsolutePath().normalize());
+    }
+
+    /**
+     * Lets the bytecode cache drop the classes of a definition that was replaced or unloaded, unless another
+     * loaded definition (one with the same source) still uses them. Running instances keep theirs alive.
+     */
+    private static void releaseBytecode(ScriptDefinition replaced) {
+        if (replaced == null || replaced.getCompiledChunk() == null) return;
+        for (ScriptDefinition definition : definitions.values()) {
+            if (definition.getCompiledChunk() == replaced.getCompiledChunk()) return;
+        }
+        LuaBytecodeCache.evict(replaced.getCompiledChunk());
+    }
+
+    private record ScriptLoadResult(File file, ScriptDefinition definition, Exception failure, long nanos) {
+    }
+
+    /**
+     * Reads and validates every script under the provider's directory on a bounded pool, then registers them on
+     * the calling thread in sorted path order, so the outcome (including which of two same-named files wins) and
+     * the log output are the same as loading them one by one.
+     */
     private static void discoverScripts(ScriptProvider provider) {
         File dir = provider.getScriptDirectory().toFile();
         if (!dir.exists() || !dir.isDirectory()) return;
-        discoverDirectory(dir, provider);
+        List<File> files = new ArrayList<>();
+        collectScripts(dir, files);
+        if (files.isEmpty()) return;
+
+        long startNanos = System.nanoTime();
+        List<ScriptLoadResult> results = validateAll(files, provider);
+        ScriptLoadResult slowest = null;
+        int loaded = 0;
+        for (ScriptLoadResult result : results) {
+            if (slowest == null || result.nanos() > slowest.nanos()) slowest = result;
+            if (result.failure() instanceof IOException) {
+                Logger.warn("Failed to read script: " + result.file().getName());
+            } else if (result.failure() != null) {
+                Logger.warn("Failed to load script: " + result.file().getName());
+                result.failure().printStackTrace();
+            } else {
+                releaseBytecode(definitions.put(provider.getNamespace() + ":" + result.file().getName(), result.definition()));
+                reportCompileStatus(provider.getNamespace(), result.definition());
+                loaded++;
+            }
+        }
+        Logger.info("Loaded " + loaded + "/" + files.size() + " " + provider.getNamespace() + " scripts in "
+                + (System.nanoTime() - startNanos) / 1_000_000L + "ms (slowest: " + slowest.file().getName()
+                + ", " + slowest.nanos() / 1_000_000L + "ms).");
     }
 
-    private static void discoverDirectory(File directory, ScriptProvider provider) {
+    private static void collectScripts(File directory, List<File> scripts) {
         File[] files = directory.listFiles();
         if (files == null) return;
         Arrays.sort(files, Comparator.comparing(File::getName));
         for (File file : files) {
             if (file.isDirectory()) {
-                discoverDirectory(file, provider);
+                collectScripts(file, scripts);
                 continue;
             }
-            if (!file.getName().toLowerCase(Locale.ROOT).endsWith(".lua")) continue;
-            try {
-                loadScript(provider.getNamespace(), file);
-            } catch (IOException e) {
-                Logger.warn("Failed to read script: " + file.getName());
-            } catch (Exception e) {
-                Logger.warn("Failed to load script: " + file.getName());
-                e.printStackTrace();
+            if (file.getName().toLowerCase(Locale.ROOT).endsWith(".lua")) scripts.add(file);
+        }
+    }
+
+    private static List<ScriptLoadResult> validateAll(List<File> files, ScriptProvider provider) {
+        int threads = Math.min(files.size(), Math.min(MAX_LOADER_THREADS, Runtime.getRuntime().availableProcessors()));
+        if (threads <= 1) {
+            List<ScriptLoadResult> results = new ArrayList<>(files.size());
+            for (File file : files) results.add(validateTimed(file, provider));
+            return results;
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "MagmaCore-ScriptLoader-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<ScriptLoadResult>> futures = new ArrayList<>(files.size());
+            for (File file : files) futures.add(executor.submit(() -> validateTimed(file, provider)));
+            List<ScriptLoadResult> results = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    results.add(new ScriptLoadResult(files.get(i), null,
+                            cause instanceof Exception exception ? exception : new RuntimeException(cause), 0));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(new ScriptLoadResult(files.get(i), null, e, 0));
+                }
             }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ScriptLoadResult validateTimed(File file, ScriptProvider provider) {
+        long startNanos = System.nanoTime();
+        try {
+            ScriptDefinition definition = readAndValidate(file, provider);
+            return new ScriptLoadResult(file, definition, null, System.nanoTime() - startNanos);
+        } catch (Exception e) {
+            return new ScriptLoadResult(file, null, e, System.nanoTime() - startNanos);
         }
     }
 }
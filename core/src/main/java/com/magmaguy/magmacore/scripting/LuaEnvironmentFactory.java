@@ -1,17 +1,79 @@
 package com.magmaguy.magmacore.scripting;
 
 import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaError;
 import org.luaj.vm2.LuaTable;
 import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Prototype;
 import org.luaj.vm2.Varargs;
 import org.luaj.vm2.lib.VarArgFunction;
 import org.luaj.vm2.lib.jse.JsePlatform;
 
+import java.io.IOException;
+import java.io.StringReader;
+
 public final class LuaEnvironmentFactory {
 
     private LuaEnvironmentFactory() {
     }
 
+    /**
+     * The sandboxed standard library and {@code em} table, built once and frozen. Every script environment
+     * falls back to it through {@code __index}.
+     */
+    private static final class SharedBase {
+        private static final Globals GLOBALS = createGlobals();
+        private static final LuaTable METATABLE = createMetatable();
+
+        private static LuaTable createMetatable() {
+            LuaTable base = new LuaTable();
+            LuaValue key = LuaValue.NIL;
+            while (true) {
+                Varargs next = GLOBALS.next(key);
+                key = next.arg1();
+                if (key.isnil()) break;
+                // Each environment gets its own _G
+                if ("_G".equals(key.tojstring())) continue;
+                base.rawset(key, next.arg(2));
+            }
+
+            LuaTable metatable = new LuaTable();
+            metatable.rawset("__index", ReadOnlyLuaTable.freeze(base));
+            // Hide the metatable so scripts can't swap or edit it
+            metatable.rawset("__metatable", LuaValue.FALSE);
+            return ReadOnlyLuaTable.freeze(metatable);
+        }
+    }
+
+    /**
+     * Creates a script environment: an empty table that reads through to the shared, read-only base
+     * environment. Writes, including new globals, stay in the returned table.
+     * <p>
+     * The environment is a {@link Globals} only so closures bound to it pick up its {@code debuglib}
+     * (see {@link LuaInstructionBudget}); it carries none of the base environment's libraries itself.
+     */
+    public static Globals createEnvironment() {
+        Globals environment = new Globals();
+        environment.setmetatable(SharedBase.METATABLE);
+        environment.rawset("_G", environment);
+        return environment;
+    }
+
+    /**
+     * Compiles a script with the shared base environment's compiler.
+     */
+    public static Prototype compile(String fileName, String source) {
+        try {
+            return SharedBase.GLOBALS.compilePrototype(new StringReader(source), fileName);
+        } catch (IOException e) {
+            throw new LuaError("load " + fileName + ": " + e);
+        }
+    }
+
+    /**
+     * Builds a complete, standalone sandboxed environment. Script instances use {@link #createEnvironment()},
+     * which shares one of these.
+     */
     public static Globals createGlobals() {
         Globals globals = JsePlatform.standardGlobals();
         globals.set("debug", LuaValue.NIL);
@@ -0,0 +1,83 @@
+package com.magmaguy.magmacore.scripting;
+
+import org.luaj.vm2.LuaClosure;
+import org.luaj.vm2.LuaFunction;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.DebugLib;
+
+/**
+ * Counts the interpreter instructions a script environment executes and aborts the running call once it goes over
+ * budget. Installed as the environment's debug hook: luaj calls {@link #onInstruction} before every instruction of
+ * every closure bound to that environment, so this also stops a script stuck in an infinite loop, which a wall-time
+ * check after the call returns never could.
+ * <p>
+ * Only the counting part of {@link DebugLib} is used; the {@code debug} table itself is never exposed to scripts.
+ * LuaJC-compiled scripts don't go through the interpreter and are not counted.
+ */
+final class LuaInstructionBudget extends DebugLib {
+
+    private long executed;
+    private long budget;
+    private long remaining;
+    private int depth;
+
+    /**
+     * Thrown from inside the interpreter when a call goes over budget. An {@link Error} so {@code pcall} can't
+     * swallow it; it keeps being thrown on every instruction until the outermost call {@link #exit exits}.
+     */
+    static final class BudgetExceededError extends Error {
+        BudgetExceededError(long budget) {
+            super("exceeded instruction budget of " + budget, null, false, false);
+        }
+    }
+
+    /**
+     * Starts a call. Nested calls (a hook dispatching another hook on the same script) share the outermost call's
+     * budget.
+     *
+     * @param budget instructions the outermost call may execute, 0 or less for no limit
+     * @return the instruction count to pass to {@link #exit}
+     */
+    long enter(long budget) {
+        if (depth++ == 0) {
+            this.budget = budget;
+            remaining = budget > 0 ? budget : Long.MAX_VALUE;
+        }
+        return executed;
+    }
+
+    /**
+     * Ends a call started with {@link #enter}.
+     *
+     * @return the instructions executed since that call started
+     */
+    long exit(long start) {
+        depth = Math.max(0, depth - 1);
+        return executed - start;
+    }
+
+    @Override
+    public void onInstruction(int pc, Varargs v, int top) {
+        executed++;
+        if (--remaining < 0 && depth > 0) throw new BudgetExceededError(budget);
+    }
+
+    @Override
+    public void onCall(LuaFunction f) {
+    }
+
+    @Override
+    public void onCall(LuaClosure c, Varargs varargs, LuaValue[] stack) {
+    }
+
+    @Override
+    public void onReturn() {
+    }
+
+    @Override
+    public String traceback(int level) {
+        // No call stack is kept; luaj appends this to error messages
+        return "";
+    }
+}
@@ -0,0 +1,139 @@
+package com.magmaguy.magmacore.scripting;
+
+import com.magmaguy.magmacore.util.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches a provider's script directory, including subdirectories, and hands every {@code .lua} file that is
+ * created, changed or deleted to {@link LuaEngine} on its own daemon thread. Events are collected until the
+ * directory has been quiet for a moment, so an editor's save (often several events) reloads a file once.
+ */
+final class LuaScriptWatcher implements Runnable {
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final ScriptProvider provider;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private volatile boolean closed = false;
+
+    private LuaScriptWatcher(ScriptProvider provider, WatchService watchService) {
+        this.provider = provider;
+        this.watchService = watchService;
+    }
+
+    /**
+     * Starts watching the provider's script directory.
+     *
+     * @return the watcher, or null if the directory doesn't exist or can't be watched
+     */
+    static LuaScriptWatcher start(ScriptProvider provider) {
+        Path root = provider.getScriptDirectory();
+        if (!Files.isDirectory(root)) return null;
+        try {
+            LuaScriptWatcher watcher = new LuaScriptWatcher(provider, FileSystems.getDefault().newWatchService());
+            watcher.registerAll(root);
+            Thread thread = new Thread(watcher, "MagmaCore-ScriptWatcher-" + provider.getNamespace());
+            thread.setDaemon(true);
+            thread.start();
+            return watcher;
+        } catch (IOException e) {
+            Logger.warn("Could not watch " + root + " for script changes: " + e.getMessage());
+            return null;
+        }
+    }
+
+    void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+            // Closing only wakes up the watcher thread so it can exit
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                TreeSet<Path> changed = new TreeSet<>();
+                collect(watchService.take(), changed);
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                for (Path file : changed) {
+                    if (closed) return;
+                    if (Files.isRegularFile(file)) LuaEngine.reloadScript(provider, file.toFile());
+                    else LuaEngine.removeScript(provider, file.toFile());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // close() was called
+        }
+    }
+
+    private void collect(WatchKey key, TreeSet<Path> changed) {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (directory == null) continue;
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were dropped; treat everything under this directory as changed
+                changed.addAll(listScripts(directory));
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                registerAll(path);
+                changed.addAll(listScripts(path));
+            } else if (isScript(path)) {
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) directories.remove(key);
+    }
+
+    private void registerAll(Path root) {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path directory : paths.filter(Files::isDirectory).toList()) {
+                WatchKey key = directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, directory);
+            }
+        } catch (IOException e) {
+            Logger.warn("Could not watch " + root + " for script changes: " + e.getMessage());
+        }
+    }
+
+    private static List<Path> listScripts(Path root) {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(path -> Files.isRegularFile(path) && isScript(path)).toList();
+        } catch (IOException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    private static boolean isScript(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".lua");
+    }
+}
@@ -0,0 +1,113 @@
+package com.magmaguy.magmacore.scripting;
+
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable Lua table, used for the environment and the world tables shared by every script instance.
+ * Nested tables are copied (and frozen) too, so no script can change what another one sees.
+ */
+public final class ReadOnlyLuaTable extends LuaTable {
+
+    private boolean frozen;
+
+    private ReadOnlyLuaTable() {
+    }
+
+    /**
+     * Copies the table and every table reachable from it into read-only tables.
+     */
+    public static ReadOnlyLuaTable freeze(LuaTable source) {
+        return freeze(source, new IdentityHashMap<>());
+    }
+
+    /**
+     * Lets {@code filler} populate a new table, then freezes that same table, so functions that recognise the table
+     * they were added to (for {@code table:method()} calls) keep working. Nested tables are frozen as copies.
+     */
+    public static ReadOnlyLuaTable freezeInPlace(Consumer<? super LuaTable> filler) {
+        ReadOnlyLuaTable table = new ReadOnlyLuaTable();
+        filler.accept(table);
+        Map<LuaTable, ReadOnlyLuaTable> frozenTables = new IdentityHashMap<>();
+        frozenTables.put(table, table);
+        LuaValue key = LuaValue.NIL;
+        while (true) {
+            Varargs next = table.next(key);
+            key = next.arg1();
+            if (key.isnil()) break;
+            // Replacing the value of a key that is already present does not disturb the iteration
+            if (next.arg(2) instanceof LuaTable nested) table.rawset(key, freeze(nested, frozenTables));
+        }
+        LuaValue metatable = table.getmetatable();
+        if (metatable instanceof LuaTable nested) table.setmetatable(freeze(nested, frozenTables));
+        table.frozen = true;
+        return table;
+    }
+
+    private static ReadOnlyLuaTable freeze(LuaTable source, Map<LuaTable, ReadOnlyLuaTable> frozenTables) {
+        ReadOnlyLuaTable existing = frozenTables.get(source);
+        if (existing != null) return existing;
+
+        ReadOnlyLuaTable copy = new ReadOnlyLuaTable();
+        frozenTables.put(source, copy);
+        LuaValue key = LuaValue.NIL;
+        while (true) {
+            Varargs next = source.next(key);
+            key = next.arg1();
+            if (key.isnil()) break;
+            LuaValue value = next.arg(2);
+            copy.rawset(key, value instanceof LuaTable table ? freeze(table, frozenTables) : value);
+        }
+        LuaValue metatable = source.getmetatable();
+        if (metatable instanceof LuaTable table) {
+            copy.setmetatable(freeze(table, frozenTables));
+        }
+        copy.frozen = true;
+        return copy;
+    }
+
+    @Override
+    public void rawset(int key, LuaValue value) {
+        checkWritable();
+        super.rawset(key, value);
+    }
+
+    @Override
+    public void rawset(LuaValue key, LuaValue value) {
+        checkWritable();
+        super.rawset(key, value);
+    }
+
+    @Override
+    public void insert(int pos, LuaValue value) {
+        checkWritable();
+        super.insert(pos, value);
+    }
+
+    @Override
+    public LuaValue remove(int pos) {
+        checkWritable();
+        return super.remove(pos);
+    }
+
+    @Override
+    public void sort(LuaValue comparator) {
+        checkWritable();
+        super.sort(comparator);
+    }
+
+    @Override
+    public LuaValue setmetatable(LuaValue metatable) {
+        checkWritable();
+        return super.setmetatable(metatable);
+    }
+
+    private void checkWritable() {
+        if (frozen) error("attempt to modify a read-only table");
+    }
+}
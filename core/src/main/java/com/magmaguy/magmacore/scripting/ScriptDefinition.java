@@ -1,12 +1,25 @@
 package com.magmaguy.magmacore.scripting;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.luaj.vm2.*;
 
 import java.io.File;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
+/**
+ * A validated script. The source is compiled to a luaj {@link Prototype} once, when the definition is created;
+ * every {@link #instantiate()} then only wraps that prototype in a new closure bound to a fresh environment, so
+ * spawning scripted entities never lexes or parses the source again.
+ * <p>
+ * Scripts can also run as LuaJC-compiled JVM classes, either globally through {@link LuaEngine#setDefaultCompileMode}
+ * or per script with a {@code compile = "bytecode"} (or {@code "interpreter"}) field. Scripts LuaJC can't compile
+ * fall back to the interpreter; {@link #getCompileStatus()} tells which one a script ended up on.
+ * <p>
+ * {@link #getStats()} accumulates the CPU time and instructions all instances of the script have used.
+ */
 @Getter
 public class ScriptDefinition {
     private final String fileName;
@@ -14,20 +27,50 @@ public class ScriptDefinition {
     private final String source;
     private final int priority;
     private final Set<ScriptHook> hooks;
+    private final Prototype prototype;
+    private final CompileStatus compileStatus;
+    private final String compileFailure;
+    @Getter(AccessLevel.PACKAGE)
+    private final LuaBytecodeCache.CompiledChunk compiledChunk;
+    private final ScriptStats stats = new ScriptStats();
+
+    public enum CompileStatus {
+        /** Runs on the interpreter, as requested. */
+        INTERPRETED,
+        /** Runs as LuaJC-compiled classes. */
+        COMPILED,
+        /** LuaJC was requested but failed; runs on the interpreter. See {@link #getCompileFailure()}. */
+        FALLBACK
+    }
 
     public ScriptDefinition(String fileName, File sourceFile, String source,
                             int priority, Set<ScriptHook> hooks) {
+        this(fileName, sourceFile, source, priority, hooks,
+                LuaEnvironmentFactory.compile(fileName, source), CompileStatus.INTERPRETED, null, null);
+    }
+
+    private ScriptDefinition(String fileName, File sourceFile, String source,
+                             int priority, Set<ScriptHook> hooks, Prototype prototype,
+                             CompileStatus compileStatus, String compileFailure,
+                             LuaBytecodeCache.CompiledChunk compiledChunk) {
         this.fileName = fileName;
         this.sourceFile = sourceFile;
         this.source = source;
         this.priority = priority;
         this.hooks = Set.copyOf(hooks);
+        this.prototype = prototype;
+        this.compileStatus = compileStatus;
+        this.compileFailure = compileFailure;
+        this.compiledChunk = compiledChunk;
     }
 
     public static ScriptDefinition validate(String fileName, File sourceFile,
                                             String source, ScriptProvider provider) {
-        Globals globals = LuaEnvironmentFactory.createGlobals();
-        LuaTable scriptTable = evaluate(fileName, source, globals);
+        Globals environment = LuaEnvironmentFactory.createEnvironment();
+        LuaInstructionBudget budget = new LuaInstructionBudget();
+        environment.debuglib = budget;
+        Prototype prototype = LuaEnvironmentFactory.compile(fileName, source);
+        LuaTable scriptTable = evaluate(fileName, new LuaClosure(prototype, environment), budget);
 
         int apiVersion = extractIntField(scriptTable, "api_version", fileName, true);
         if (apiVersion != 1)
@@ -35,6 +78,7 @@ public class ScriptDefinition {
                 "Script " + fileName + " has unsupported api_version " + apiVersion + ". Expected 1.");
 
         int priority = extractIntField(scriptTable, "priority", fileName, false);
+        LuaCompileMode compileMode = extractCompileMode(scriptTable, fileName);
 
         Set<ScriptHook> hooks = new HashSet<>();
         LuaValue currentKey = LuaValue.NIL;
@@ -43,7 +87,7 @@ public class ScriptDefinition {
             currentKey = next.arg1();
             if (currentKey.isnil()) break;
             String key = currentKey.checkjstring();
-            if ("api_version".equals(key) || "priority".equals(key)) continue;
+            if ("api_version".equals(key) || "priority".equals(key) || "compile".equals(key)) continue;
 
             ScriptHook hook = provider.resolveHook(key);
             if (hook == null)
@@ -55,25 +99,67 @@ public class ScriptDefinition {
             hooks.add(hook);
         }
 
-        return new ScriptDefinition(fileName, sourceFile, source, priority, hooks);
+        if (compileMode != LuaCompileMode.BYTECODE)
+            return new ScriptDefinition(fileName, sourceFile, source, priority, hooks, prototype,
+                    CompileStatus.INTERPRETED, null, null);
+
+        try {
+            LuaBytecodeCache.CompiledChunk compiledChunk = LuaBytecodeCache.compile(fileName, source, prototype, environment);
+            return new ScriptDefinition(fileName, sourceFile, source, priority, hooks, prototype,
+                    CompileStatus.COMPILED, null, compiledChunk);
+        } catch (Throwable e) {
+            return new ScriptDefinition(fileName, sourceFile, source, priority, hooks, prototype,
+                    CompileStatus.FALLBACK, String.valueOf(e), null);
+        }
     }
 
     public LuaTable instantiate() {
-        return evaluate(fileName, source, LuaEnvironmentFactory.createGlobals());
+        return instantiate(new LuaInstructionBudget());
+    }
+
+    /**
+     * Instantiates the script with {@code budget} counting, and limiting, every instruction it runs.
+     */
+    LuaTable instantiate(LuaInstructionBudget budget) {
+        Globals environment = LuaEnvironmentFactory.createEnvironment();
+        environment.debuglib = budget;
+        LuaValue chunk = compiledChunk != null ? compiledChunk.newChunk(environment) : new LuaClosure(prototype, environment);
+        return evaluate(fileName, chunk, budget);
     }
 
     public boolean supportsHook(ScriptHook hook) {
         return hook != null && hooks.contains(hook);
     }
 
-    private static LuaTable evaluate(String fileName, String source, Globals globals) {
-        LuaValue chunk = globals.load(source, fileName);
-        LuaValue result = chunk.call();
+    private static LuaTable evaluate(String fileName, LuaValue chunk, LuaInstructionBudget budget) {
+        LuaValue result;
+        long start = budget.enter(LuaEngine.getInstructionBudget());
+        try {
+            result = chunk.call();
+        } catch (LuaInstructionBudget.BudgetExceededError e) {
+            throw new IllegalArgumentException("Script " + fileName + " " + e.getMessage() + " while loading.");
+        } finally {
+            budget.exit(start);
+        }
         if (!(result instanceof LuaTable scriptTable))
             throw new IllegalArgumentException("Script " + fileName + " must return a table.");
         return scriptTable;
     }
 
+    private static LuaCompileMode extractCompileMode(LuaTable table, String fileName) {
+        LuaValue value = table.get("compile");
+        if (value.isnil()) return LuaEngine.getDefaultCompileMode();
+        if (!value.isstring())
+            throw new IllegalArgumentException(
+                "Script " + fileName + " field 'compile' must be \"bytecode\" or \"interpreter\".");
+        return switch (value.tojstring().toLowerCase(Locale.ROOT)) {
+            case "bytecode" -> LuaCompileMode.BYTECODE;
+            case "interpreter" -> LuaCompileMode.INTERPRETER;
+            default -> throw new IllegalArgumentException(
+                "Script " + fileName + " field 'compile' must be \"bytecode\" or \"interpreter\".");
+        };
+    }
+
     private static int extractIntField(LuaTable table, String key,
                                        String fileName, boolean required) {
         LuaValue value = table.get(key);
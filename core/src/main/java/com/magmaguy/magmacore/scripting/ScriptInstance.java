@@ -1,24 +1,21 @@
 package com.magmaguy.magmacore.scripting;
 
-import com.magmaguy.magmacore.MagmaCore;
 import com.magmaguy.magmacore.scripting.tables.LuaLivingEntityTable;
 import com.magmaguy.magmacore.scripting.tables.LuaTableSupport;
 import com.magmaguy.magmacore.scripting.tables.LuaWorldTable;
 import com.magmaguy.magmacore.scripting.zones.Cuboid;
 import com.magmaguy.magmacore.scripting.zones.Cylinder;
 import com.magmaguy.magmacore.scripting.zones.ScriptZone;
+import com.magmaguy.magmacore.scripting.zones.ScriptZoneRegistry;
 import com.magmaguy.magmacore.scripting.zones.Sphere;
 import com.magmaguy.magmacore.util.Logger;
 import lombok.Getter;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 import org.luaj.vm2.*;
 import org.luaj.vm2.lib.VarArgFunction;
 
@@ -37,13 +34,22 @@ public class ScriptInstance {
     @Getter
     private final ScriptableEntity entity;
     private final LuaTable stateTable = new LuaTable();
+    private final LuaInstructionBudget instructionBudget = new LuaInstructionBudget();
     private final Map<Integer, OwnedTask> ownedTasks = new LinkedHashMap<>();
 
     private final Map<Integer, ScriptZone> zoneWatches = new LinkedHashMap<>();
     private int nextZoneHandle = 1;
 
     private LuaTable scriptTable;
-    private Integer tickTaskId = null;
+    // Built on first use and reused by every context; none of them depend on the event being dispatched
+    private LuaTable contextMetatable;
+    private LuaTable logTable;
+    private LuaTable schedulerTable;
+    private LuaTable cooldownTable;
+    private LuaTable zonesTable;
+    private boolean tickRegistered = false;
+    // Whether the scheduler's tick list holds this instance; only the scheduler clears it, when it drops the entry
+    boolean inTickList = false;
     private boolean closed = false;
     private Event currentEvent = null;
     private LivingEntity currentEventActor = null;
@@ -93,24 +99,21 @@ public class ScriptInstance {
 
     /** Schedule a one-shot owned Java task; auto-cancelled on shutdown. Returns its id. */
     public int ownLater(int ticks, Runnable runnable) {
-        JavaPlugin plugin = MagmaCore.getInstance().getRequestingPlugin();
         int[] holder = new int[1];
-        BukkitTask task = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        ScriptScheduler.ScheduledTask task = ScriptScheduler.runLater(ticks, () -> {
             ownedTasks.remove(holder[0]);
             runnable.run();
-        }, ticks);
-        holder[0] = task.getTaskId();
-        ownedTasks.put(holder[0], () -> Bukkit.getScheduler().cancelTask(holder[0]));
+        });
+        holder[0] = task.getId();
+        ownedTasks.put(holder[0], task::cancel);
         return holder[0];
     }
 
     /** Schedule a repeating owned Java task; auto-cancelled on shutdown. Returns its id. */
     public int ownRepeating(int delayTicks, int intervalTicks, Runnable runnable) {
-        JavaPlugin plugin = MagmaCore.getInstance().getRequestingPlugin();
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, runnable, delayTicks, intervalTicks);
-        int id = task.getTaskId();
-        ownedTasks.put(id, () -> Bukkit.getScheduler().cancelTask(id));
-        return id;
+        ScriptScheduler.ScheduledTask task = ScriptScheduler.runRepeating(delayTicks, intervalTicks, runnable);
+        ownedTasks.put(task.getId(), task::cancel);
+        return task.getId();
     }
 
     /** Schedule a one-shot owned Lua callback, invoked with a fresh context table. */
@@ -132,19 +135,21 @@ public class ScriptInstance {
     public void invokeOwnedCallback(String failureContext, LuaFunction callback, LuaValue... args) {
         if (closed) return;
         long startNanos = System.nanoTime();
+        long startInstructions = instructionBudget.enter(LuaEngine.getInstructionBudget());
+        long elapsedNanos;
         try {
             callback.invoke(LuaValue.varargsOf(args));
+        } catch (LuaInstructionBudget.BudgetExceededError exceeded) {
+            disableOverBudget(failureContext, exceeded);
+            return;
         } catch (Exception exception) {
             logLuaError(failureContext, exception);
             shutdown();
             return;
+        } finally {
+            elapsedNanos = finishCall(failureContext, startNanos, startInstructions);
         }
-        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
-        if (elapsedMillis > 50) {
-            Logger.warn("[Lua] " + definition.getFileName() + " took " + elapsedMillis + "ms in '"
-                    + failureContext + "' (limit: 50ms) — script disabled to prevent lag.");
-            shutdown();
-        }
+        checkWallTime(failureContext, elapsedNanos);
     }
 
     // ── Event dispatch ───────────────────────────────────────────────────
@@ -163,29 +168,58 @@ public class ScriptInstance {
         if (!definition.getHooks().contains(hook) || !function.isfunction()) return;
 
         long startNanos = System.nanoTime();
+        long startInstructions = instructionBudget.enter(LuaEngine.getInstructionBudget());
+        long elapsedNanos;
         currentEvent = event;
         currentEventActor = eventActor;
         currentDirectTarget = directTarget;
         try {
             function.checkfunction().call(buildContext(event, directTarget, eventActor));
+        } catch (LuaInstructionBudget.BudgetExceededError exceeded) {
+            disableOverBudget(hook.getKey(), exceeded);
+            return;
         } catch (Exception exception) {
             logLuaError(hook.getKey(), exception);
             shutdown();
             return;
         } finally {
+            elapsedNanos = finishCall(hook.getKey(), startNanos, startInstructions);
             currentEvent = null;
             currentEventActor = null;
             currentDirectTarget = null;
         }
 
-        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+        checkWallTime(hook.getKey(), elapsedNanos);
+    }
+
+    /**
+     * Ends a call started with {@link LuaInstructionBudget#enter} and records it in the definition's stats.
+     *
+     * @return the call's wall time in nanoseconds
+     */
+    private long finishCall(String context, long startNanos, long startInstructions) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        definition.getStats().record(context, elapsedNanos, instructionBudget.exit(startInstructions));
+        return elapsedNanos;
+    }
+
+    private void checkWallTime(String context, long elapsedNanos) {
+        long elapsedMillis = elapsedNanos / 1_000_000L;
         if (elapsedMillis > 50) {
             Logger.warn("[Lua] " + definition.getFileName() + " took " + elapsedMillis + "ms in '"
-                    + hook.getKey() + "' (limit: 50ms) — script disabled to prevent lag.");
+                    + context + "' (limit: 50ms) — script disabled to prevent lag.");
             shutdown();
         }
     }
 
+    private void disableOverBudget(String context, LuaInstructionBudget.BudgetExceededError exceeded) {
+        // A nested call that already caught this has disabled the script
+        if (closed) return;
+        Logger.warn("[Lua] " + definition.getFileName() + " " + exceeded.getMessage() + " in '"
+                + context + "' — script disabled to prevent lag.");
+        shutdown();
+    }
+
     /**
      * Called each server tick when ON_TICK is supported.
      */
@@ -195,7 +229,6 @@ public class ScriptInstance {
             shutdown();
             return;
         }
-        tickZoneWatches();
         if (definition.supportsHook(ScriptHook.ON_TICK)) {
             handleEvent(ScriptHook.ON_TICK, null, null, null);
         }
@@ -211,10 +244,7 @@ public class ScriptInstance {
         if (closed) return;
         closed = true;
 
-        if (tickTaskId != null) {
-            Bukkit.getScheduler().cancelTask(tickTaskId);
-            tickTaskId = null;
-        }
+        tickRegistered = false;
 
         for (OwnedTask task : new ArrayList<>(ownedTasks.values())) {
             task.cancel();
@@ -233,34 +263,54 @@ public class ScriptInstance {
 
     private void ensureScriptTable() {
         if (scriptTable != null) return;
-        scriptTable = definition.instantiate();
+        scriptTable = definition.instantiate(instructionBudget);
         updateTickRegistration();
     }
 
     // ── Context building ─────────────────────────────────────────────────
 
+    /**
+     * Context table for one dispatch. It only carries the dispatch's event and targets; every field is resolved
+     * lazily through a metatable shared by all of this instance's contexts.
+     */
+    private static final class ContextTable extends LuaTable {
+        private final Event event;
+        private final LivingEntity directTarget;
+        private final LivingEntity eventActor;
+
+        private ContextTable(Event event, LivingEntity directTarget, LivingEntity eventActor) {
+            this.event = event;
+            this.directTarget = directTarget;
+            this.eventActor = eventActor;
+        }
+    }
+
     private LuaValue buildContext(Event event, LivingEntity directTarget, LivingEntity eventActor) {
-        LuaTable context = new LuaTable();
-        context.set("state", stateTable);
+        ContextTable context = new ContextTable(event, directTarget, eventActor);
+        context.rawset("state", stateTable);
+        context.setmetatable(getContextMetatable());
+        return context;
+    }
 
-        LuaTable metatable = new LuaTable();
-        metatable.set("__index", new VarArgFunction() {
+    private LuaTable getContextMetatable() {
+        if (contextMetatable != null) return contextMetatable;
+        contextMetatable = new LuaTable();
+        contextMetatable.set("__index", new VarArgFunction() {
             @Override
             public Varargs invoke(Varargs args) {
-                LuaTable owner = args.arg1().checktable();
+                if (!(args.arg1() instanceof ContextTable owner)) return LuaValue.NIL;
                 LuaValue keyValue = args.arg(2);
                 if (!keyValue.isstring()) return LuaValue.NIL;
 
                 String key = keyValue.tojstring();
-                LuaValue resolved = resolveContextValue(key, event, directTarget, eventActor);
+                LuaValue resolved = resolveContextValue(key, owner.event, owner.directTarget, owner.eventActor);
                 if (!resolved.isnil()) {
                     owner.rawset(key, resolved);
                 }
                 return resolved;
             }
         });
-        context.setmetatable(metatable);
-        return context;
+        return contextMetatable;
     }
 
     private LuaValue resolveContextValue(String key, Event event,
@@ -278,16 +328,16 @@ public class ScriptInstance {
         }
         // 3) Magmacore built-in defaults.
         return switch (key) {
-            case "log" -> createLogTable();
-            case "cooldowns" -> createCooldownTable();
-            case "scheduler" -> createSchedulerTable();
+            case "log" -> logTable != null ? logTable : (logTable = createLogTable());
+            case "cooldowns" -> cooldownTable != null ? cooldownTable : (cooldownTable = createCooldownTable());
+            case "scheduler" -> schedulerTable != null ? schedulerTable : (schedulerTable = createSchedulerTable());
             case "world" -> {
                 Location loc = entity.getLocation();
                 yield (loc != null && loc.getWorld() != null)
-                        ? LuaWorldTable.build(loc.getWorld())
+                        ? LuaWorldTable.get(loc.getWorld())
                         : LuaValue.NIL;
             }
-            case "zones" -> createZonesTable();
+            case "zones" -> zonesTable != null ? zonesTable : (zonesTable = createZonesTable());
             case "event" -> createEventTable();
             case "player" -> {
                 LivingEntity player = resolveContextPlayer(directTarget, eventActor);
@@ -424,11 +474,10 @@ public class ScriptInstance {
             return LuaValue.NIL;
         }));
         // Global cooldowns — shared across all scripts on the same owner
-        Map<String, Long> globalStore = entity.getGlobalCooldownStore();
         cd.set("global_ready", method(cd, args ->
-                LuaValue.valueOf(isGlobalCooldownReady(globalStore))));
+                LuaValue.valueOf(isGlobalCooldownReady(entity.getGlobalCooldownStore()))));
         cd.set("set_global", method(cd, args -> {
-            setGlobalCooldown(globalStore, args.checklong(1));
+            setGlobalCooldown(entity.getGlobalCooldownStore(), args.checklong(1));
             return LuaValue.NIL;
         }));
         return cd;
@@ -458,34 +507,35 @@ public class ScriptInstance {
         boolean shouldTick = !closed
                 && entity.isScriptOwnerActive()
                 && (definition.supportsHook(ScriptHook.ON_TICK) || !zoneWatches.isEmpty());
-        if (shouldTick && tickTaskId == null) {
-            JavaPlugin plugin = MagmaCore.getInstance().getRequestingPlugin();
-            BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, this::onTick, 1L, 1L);
-            tickTaskId = task.getTaskId();
-        } else if (!shouldTick && tickTaskId != null) {
-            Bukkit.getScheduler().cancelTask(tickTaskId);
-            tickTaskId = null;
+        if (shouldTick && !tickRegistered) {
+            tickRegistered = true;
+            // Still listed if the scheduler has not reached it since it was last dropped
+            if (!inTickList) ScriptScheduler.registerTicking(this);
+        } else if (!shouldTick && tickRegistered) {
+            // The scheduler drops this instance the next time it reaches it
+            tickRegistered = false;
         }
     }
 
+    boolean isTickRegistered() {
+        return tickRegistered;
+    }
+
     private int ownLaterTask(int ticks, LuaFunction callback) {
-        JavaPlugin plugin = MagmaCore.getInstance().getRequestingPlugin();
         int[] taskIdHolder = new int[1];
-        BukkitTask task = Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        ScriptScheduler.ScheduledTask task = ScriptScheduler.runLater(ticks, () -> {
             ownedTasks.remove(taskIdHolder[0]);
             runCallback(callback);
-        }, ticks);
-        taskIdHolder[0] = task.getTaskId();
-        ownedTasks.put(taskIdHolder[0], () -> Bukkit.getScheduler().cancelTask(taskIdHolder[0]));
+        });
+        taskIdHolder[0] = task.getId();
+        ownedTasks.put(taskIdHolder[0], task::cancel);
         return taskIdHolder[0];
     }
 
     private int ownRepeatingTask(int delay, int interval, LuaFunction callback) {
-        JavaPlugin plugin = MagmaCore.getInstance().getRequestingPlugin();
-        BukkitTask task = Bukkit.getScheduler().runTaskTimer(plugin, () -> runCallback(callback), delay, interval);
-        int taskId = task.getTaskId();
-        ownedTasks.put(taskId, () -> Bukkit.getScheduler().cancelTask(taskId));
-        return taskId;
+        ScriptScheduler.ScheduledTask task = ScriptScheduler.runRepeating(delay, interval, () -> runCallback(callback));
+        ownedTasks.put(task.getId(), task::cancel);
+        return task.getId();
     }
 
     private void cancelOwnedTask(int taskId) {
@@ -498,20 +548,22 @@ public class ScriptInstance {
     private void runCallback(LuaFunction callback) {
         if (closed) return;
         long startNanos = System.nanoTime();
+        long startInstructions = instructionBudget.enter(LuaEngine.getInstructionBudget());
+        long elapsedNanos;
         try {
             callback.call(buildContext(null, null, null));
+        } catch (LuaInstructionBudget.BudgetExceededError exceeded) {
+            disableOverBudget("scheduled callback", exceeded);
+            return;
         } catch (Exception exception) {
             logLuaError("scheduled callback", exception);
             shutdown();
             return;
+        } finally {
+            elapsedNanos = finishCall("scheduled callback", startNanos, startInstructions);
         }
 
-        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
-        if (elapsedMillis > 50) {
-            Logger.warn("[Lua] " + definition.getFileName() + " took " + elapsedMillis + "ms in '"
-                    + "scheduled callback' (limit: 50ms) — script disabled to prevent lag.");
-            shutdown();
-        }
+        checkWallTime("scheduled callback", elapsedNanos);
     }
 
     // ── Zones table ─────────────────────────────────────────────────────
@@ -576,6 +628,10 @@ public class ScriptInstance {
                 zone.setOnLeave((player, z) ->
                         handleEvent(ScriptHook.ON_ZONE_LEAVE, null, player, player));
             }
+            if (zone.hasCallbacks()) {
+                ScriptZoneRegistry.register(zone);
+                ScriptScheduler.ensureDriver();
+            }
             return LuaValue.TRUE;
         }));
 
@@ -628,16 +684,6 @@ public class ScriptInstance {
         return handle;
     }
 
-    private void tickZoneWatches() {
-        if (zoneWatches.isEmpty()) return;
-        Location loc = entity.getLocation();
-        if (loc == null || loc.getWorld() == null) return;
-        Collection<Player> nearby = loc.getWorld().getPlayers();
-        for (ScriptZone zone : zoneWatches.values()) {
-            zone.tick(nearby);
-        }
-    }
-
     // ── Lua method helper ────────────────────────────────────────────────
 
     private VarArgFunction method(LuaTable owner, LuaTableSupport.LuaCallback callback) {
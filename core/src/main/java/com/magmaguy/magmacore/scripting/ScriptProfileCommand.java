@@ -0,0 +1,75 @@
+package com.magmaguy.magmacore.scripting;
+
+import com.magmaguy.magmacore.command.AdvancedCommand;
+import com.magmaguy.magmacore.command.CommandData;
+import com.magmaguy.magmacore.command.SenderType;
+import com.magmaguy.magmacore.command.arguments.ListStringCommandArgument;
+import com.magmaguy.magmacore.util.Logger;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lists the loaded scripts that have used the most CPU time since they were loaded (or last reset), with their
+ * costliest hook. Register it on a plugin's {@link com.magmaguy.magmacore.command.CommandManager}, e.g. as
+ * {@code /elitemobs scriptprofile [reset]}.
+ */
+public class ScriptProfileCommand extends AdvancedCommand {
+    private static final int LIMIT = 10;
+
+    public ScriptProfileCommand(String rootCommand, String permission) {
+        super(List.of("scriptprofile"));
+        addOptionalArgument("action", new ListStringCommandArgument(List.of("reset"), "<reset>"));
+        setPermission(permission);
+        setSenderType(SenderType.ANY);
+        setDescription("Lists the scripts using the most CPU time.");
+        setUsage("/" + rootCommand + " scriptprofile [reset]");
+    }
+
+    @Override
+    public void execute(CommandData commandData) {
+        CommandSender sender = commandData.getCommandSender();
+        List<Map.Entry<String, ScriptDefinition>> definitions = new ArrayList<>(LuaEngine.getLoadedDefinitions().entrySet());
+
+        if ("reset".equalsIgnoreCase(getStringArgument("action", sender, commandData.getArgs()))) {
+            definitions.forEach(entry -> entry.getValue().getStats().reset());
+            Logger.sendMessage(sender, "&aScript stats reset.");
+            return;
+        }
+
+        definitions.removeIf(entry -> entry.getValue().getStats().getTotal().getCalls() == 0);
+        if (definitions.isEmpty()) {
+            Logger.sendMessage(sender, "&7No script has run yet.");
+            return;
+        }
+        definitions.sort(Comparator.comparingLong(
+                (Map.Entry<String, ScriptDefinition> entry) -> entry.getValue().getStats().getTotal().getTotalNanos()).reversed());
+
+        Logger.sendMessage(sender, "&6Most expensive scripts (total / calls / avg / p99 / instructions):");
+        for (Map.Entry<String, ScriptDefinition> entry : definitions.subList(0, Math.min(LIMIT, definitions.size()))) {
+            ScriptStats stats = entry.getValue().getStats();
+            Logger.sendMessage(sender, "&e" + entry.getKey() + " &7" + format(stats.getTotal()));
+
+            Map.Entry<String, ScriptStats.HookStats> costliest = null;
+            for (Map.Entry<String, ScriptStats.HookStats> hook : stats.getHooks().entrySet()) {
+                if (costliest == null || hook.getValue().getTotalNanos() > costliest.getValue().getTotalNanos())
+                    costliest = hook;
+            }
+            if (costliest != null && stats.getHooks().size() > 1)
+                Logger.sendMessage(sender, "  &8" + costliest.getKey() + " &7" + format(costliest.getValue()));
+        }
+    }
+
+    private static String format(ScriptStats.HookStats stats) {
+        return String.format(Locale.ROOT, "%.1fms / %d / %.1fus / %.1fus / %d",
+                stats.getTotalNanos() / 1_000_000D,
+                stats.getCalls(),
+                stats.getAverageNanos() / 1_000D,
+                stats.getP99Nanos() / 1_000D,
+                stats.getInstructions());
+    }
+}
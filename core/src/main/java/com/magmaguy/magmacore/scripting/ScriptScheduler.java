@@ -0,0 +1,185 @@
+package com.magmaguy.magmacore.scripting;
+
+import com.magmaguy.magmacore.MagmaCore;
+import com.magmaguy.magmacore.scripting.zones.ScriptZoneRegistry;
+import com.magmaguy.magmacore.util.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single tick driver for every {@link ScriptInstance}. One Bukkit task ticks all instances that have
+ * {@code on_game_tick} or zone watches, runs their owned callbacks from a {@link ScriptTimingWheel} and updates
+ * watched zones through {@link ScriptZoneRegistry}, instead of each instance and each callback owning its own
+ * Bukkit task.
+ * <p>
+ * Work is capped by {@link #setTickBudgetMillis a per-tick budget}. Callbacks that come due but don't fit are run
+ * first on the next tick; instance ticks go round-robin from wherever the previous tick stopped, so under load every
+ * instance still gets its turn. At least one callback and one instance tick run every tick regardless of the budget.
+ */
+public final class ScriptScheduler {
+
+    private static final ScriptTimingWheel<ScheduledTask> wheel = new ScriptTimingWheel<>();
+    private static final ArrayDeque<ScheduledTask> ready = new ArrayDeque<>();
+    private static final List<ScriptInstance> ticking = new ArrayList<>();
+    private static int tickCursor;
+    private static int nextTaskId = 1;
+    private static BukkitTask driverTask;
+    private static volatile long tickBudgetNanos = 10_000_000L;
+
+    private ScriptScheduler() {
+    }
+
+    /**
+     * A callback scheduled through {@link ScriptScheduler}.
+     */
+    public static final class ScheduledTask implements ScriptTimingWheel.Timer {
+        private final int id;
+        private final Runnable action;
+        private final int interval;
+        private long dueTick;
+        private boolean cancelled;
+
+        private ScheduledTask(int id, Runnable action, long dueTick, int interval) {
+            this.id = id;
+            this.action = action;
+            this.dueTick = dueTick;
+            this.interval = interval;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public long getDueTick() {
+            return dueTick;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Stops the task from running again. Cancelled tasks are dropped when they next come due.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Sets how many milliseconds of script work may run per tick before the rest is carried over to the next one.
+     */
+    public static void setTickBudgetMillis(double millis) {
+        tickBudgetNanos = (long) (Math.max(0, millis) * 1_000_000L);
+    }
+
+    public static double getTickBudgetMillis() {
+        return tickBudgetNanos / 1_000_000D;
+    }
+
+    /**
+     * Runs {@code action} once after {@code delayTicks} ticks (at least one).
+     */
+    public static ScheduledTask runLater(int delayTicks, Runnable action) {
+        return schedule(action, delayTicks, 0);
+    }
+
+    /**
+     * Runs {@code action} after {@code delayTicks} ticks and then every {@code intervalTicks} ticks until cancelled.
+     */
+    public static ScheduledTask runRepeating(int delayTicks, int intervalTicks, Runnable action) {
+        return schedule(action, delayTicks, Math.max(1, intervalTicks));
+    }
+
+    /**
+     * Adds an instance to the tick list. Instances are dropped from it lazily, the next time the driver reaches one
+     * whose {@link ScriptInstance#isTickRegistered()} has gone false. An instance that is still listed is not added
+     * again.
+     */
+    static void registerTicking(ScriptInstance instance) {
+        if (instance.inTickList) return;
+        ensureDriver();
+        instance.inTickList = true;
+        ticking.add(instance);
+    }
+
+    /**
+     * Cancels the driver and drops every pending callback and ticking instance.
+     */
+    public static void shutdown() {
+        if (driverTask != null) {
+            driverTask.cancel();
+            driverTask = null;
+        }
+        wheel.clear();
+        ready.clear();
+        for (ScriptInstance instance : ticking) instance.inTickList = false;
+        ticking.clear();
+        tickCursor = 0;
+        ScriptZoneRegistry.clear();
+    }
+
+    private static ScheduledTask schedule(Runnable action, int delayTicks, int interval) {
+        ensureDriver();
+        ScheduledTask task = new ScheduledTask(nextTaskId++, action, wheel.getCurrentTick() + Math.max(1, delayTicks), interval);
+        wheel.schedule(task);
+        return task;
+    }
+
+    static void ensureDriver() {
+        if (driverTask != null) return;
+        driverTask = Bukkit.getScheduler().runTaskTimer(MagmaCore.getInstance().getRequestingPlugin(),
+                ScriptScheduler::tick, 1L, 1L);
+    }
+
+    private static void tick() {
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        wheel.advance(ready::add);
+        ScriptZoneRegistry.tick();
+        runCallbacks(deadline);
+        tickInstances(deadline);
+    }
+
+    private static void runCallbacks(long deadline) {
+        boolean ranOne = false;
+        ScheduledTask task;
+        while ((task = ready.peek()) != null) {
+            if (ranOne && System.nanoTime() > deadline) return;
+            ready.poll();
+            if (task.cancelled) continue;
+            ranOne = true;
+            try {
+                task.action.run();
+            } catch (Exception e) {
+                Logger.warn("[Lua] Scheduled script task failed: " + e);
+            }
+            if (task.interval > 0 && !task.cancelled) {
+                task.dueTick = Math.max(task.dueTick + task.interval, wheel.getCurrentTick() + 1);
+                wheel.schedule(task);
+            }
+        }
+    }
+
+    private static void tickInstances(long deadline) {
+        int remaining = ticking.size();
+        boolean ranOne = false;
+        while (remaining-- > 0 && !ticking.isEmpty()) {
+            if (ranOne && System.nanoTime() > deadline) return;
+            if (tickCursor >= ticking.size()) tickCursor = 0;
+            ScriptInstance instance = ticking.get(tickCursor);
+            if (!instance.isTickRegistered()) {
+                ticking.remove(tickCursor);
+                instance.inTickList = false;
+                continue;
+            }
+            tickCursor++;
+            ranOne = true;
+            instance.onTick();
+        }
+    }
+}
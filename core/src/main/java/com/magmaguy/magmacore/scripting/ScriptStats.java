@@ -0,0 +1,128 @@
+package com.magmaguy.magmacore.scripting;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CPU accounting for one {@link ScriptDefinition}, summed over all of its instances and broken down by hook.
+ * Every hook, owned callback and scheduled callback an instance runs is recorded with its wall time and
+ * interpreter instruction count.
+ * <p>
+ * Main thread only.
+ */
+public final class ScriptStats {
+
+    private final Map<String, HookStats> hooks = new LinkedHashMap<>();
+    private final HookStats total = new HookStats();
+
+    void record(String hook, long nanos, long instructions) {
+        total.record(nanos, instructions);
+        hooks.computeIfAbsent(hook, key -> new HookStats()).record(nanos, instructions);
+    }
+
+    /**
+     * @return stats over every call of every hook
+     */
+    public HookStats getTotal() {
+        return total;
+    }
+
+    /**
+     * @return stats per hook key (or callback description), in the order each was first called
+     */
+    public Map<String, HookStats> getHooks() {
+        return Collections.unmodifiableMap(hooks);
+    }
+
+    public void reset() {
+        hooks.clear();
+        total.reset();
+    }
+
+    /**
+     * Call count, total and p99 wall time, and instructions for a set of calls. Latencies go into a log-linear
+     * histogram (four buckets per power of two) so the p99 is within about 20% without keeping every sample.
+     */
+    public static final class HookStats {
+        // Values under 4ns get a bucket each, then four per power of two up to 2^63
+        private static final int BUCKETS = 4 + 61 * 4;
+
+        private final long[] histogram = new long[BUCKETS];
+        private long calls;
+        private long totalNanos;
+        private long maxNanos;
+        private long instructions;
+
+        void record(long nanos, long instructions) {
+            nanos = Math.max(0, nanos);
+            calls++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            this.instructions += instructions;
+            histogram[bucketOf(nanos)]++;
+        }
+
+        void reset() {
+            Arrays.fill(histogram, 0);
+            calls = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+            instructions = 0;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getInstructions() {
+            return instructions;
+        }
+
+        public long getAverageNanos() {
+            return calls == 0 ? 0 : totalNanos / calls;
+        }
+
+        /**
+         * @return the 99th percentile call time, rounded up to its histogram bucket
+         */
+        public long getP99Nanos() {
+            return getPercentileNanos(0.99);
+        }
+
+        long getPercentileNanos(double percentile) {
+            if (calls == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(calls * percentile));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += histogram[bucket];
+                if (seen >= rank) return Math.min(upperBound(bucket), maxNanos);
+            }
+            return maxNanos;
+        }
+
+        static int bucketOf(long nanos) {
+            if (nanos < 4) return (int) nanos;
+            int log2 = 63 - Long.numberOfLeadingZeros(nanos);
+            int sub = (int) (nanos >>> (log2 - 2)) & 3;
+            return (log2 - 1) * 4 + sub;
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < 4) return bucket;
+            int log2 = bucket / 4 + 1;
+            int sub = bucket % 4;
+            long next = (long) (5 + sub) << (log2 - 2);
+            return next <= 0 ? Long.MAX_VALUE : next - 1;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.magmaguy.magmacore.scripting;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel keyed by server tick. Level 0 has one slot per tick for the next 256 ticks; each
+ * further level has 64 slots that each cover a whole rotation of the level below, so scheduling and expiring
+ * are O(1) no matter how many timers are pending or how far out they are. Timers in an upper level are cascaded
+ * down as their slot comes up.
+ * <p>
+ * Not thread safe; only used from the main thread.
+ */
+final class ScriptTimingWheel<T extends ScriptTimingWheel.Timer> {
+
+    private static final int LEVEL_0_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+    private static final int LEVEL_0_SIZE = 1 << LEVEL_0_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    // Furthest a timer can be placed; later timers wait in the last slot and get re-placed when it cascades
+    private static final long MAX_DELAY = 1L << (LEVEL_0_BITS + (LEVELS - 1) * LEVEL_BITS);
+
+    private final ArrayDeque<T>[][] levels;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Anything the wheel can hold. {@link #getDueTick()} must not change while the timer is scheduled.
+     */
+    interface Timer {
+        long getDueTick();
+    }
+
+    @SuppressWarnings("unchecked")
+    ScriptTimingWheel() {
+        levels = new ArrayDeque[LEVELS][];
+        for (int level = 0; level < LEVELS; level++) {
+            int slots = level == 0 ? LEVEL_0_SIZE : LEVEL_SIZE;
+            levels[level] = new ArrayDeque[slots];
+            for (int slot = 0; slot < slots; slot++) {
+                levels[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a timer.
+     *
+     * @return false if the timer is already due (due tick at or before the current tick) and was not added;
+     * the caller should run it right away
+     */
+    boolean schedule(T timer) {
+        if (timer.getDueTick() <= currentTick) return false;
+        place(timer);
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves to the next tick and hands every timer due on it to {@code expired}.
+     */
+    void advance(Consumer<T> expired) {
+        currentTick++;
+
+        // Cascade each upper level whose slot starts on this tick, from the top down so timers can fall through
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = shift(level);
+            if ((currentTick & ((1L << shift) - 1)) != 0) continue;
+            ArrayDeque<T> slot = levels[level][(int) ((currentTick >>> shift) & (LEVEL_SIZE - 1))];
+            int count = slot.size();
+            for (int index = 0; index < count; index++) {
+                T timer = slot.poll();
+                if (timer.getDueTick() <= currentTick) {
+                    // Due exactly now (or clamped and overdue): goes straight into this tick's slot
+                    levels[0][(int) (currentTick & (LEVEL_0_SIZE - 1))].add(timer);
+                } else {
+                    place(timer);
+                }
+            }
+        }
+
+        ArrayDeque<T> slot = levels[0][(int) (currentTick & (LEVEL_0_SIZE - 1))];
+        T timer;
+        while ((timer = slot.poll()) != null) {
+            size--;
+            expired.accept(timer);
+        }
+    }
+
+    void clear() {
+        for (ArrayDeque<T>[] level : levels) {
+            for (ArrayDeque<T> slot : level) {
+                slot.clear();
+            }
+        }
+        size = 0;
+    }
+
+    private void place(T timer) {
+        long dueTick = timer.getDueTick();
+        long delay = dueTick - currentTick;
+        if (delay < LEVEL_0_SIZE) {
+            levels[0][(int) (dueTick & (LEVEL_0_SIZE - 1))].add(timer);
+            return;
+        }
+        if (delay >= MAX_DELAY) {
+            dueTick = currentTick + MAX_DELAY - 1;
+            delay = MAX_DELAY - 1;
+        }
+        for (int level = 1; level < LEVELS; level++) {
+            if (delay < 1L << shift(level + 1) || level == LEVELS - 1) {
+                levels[level][(int) ((dueTick >>> shift(level)) & (LEVEL_SIZE - 1))].add(timer);
+                return;
+            }
+        }
+    }
+
+    private static int shift(int level) {
+        return level == 0 ? 0 : LEVEL_0_BITS + (level - 1) * LEVEL_BITS;
+    }
+}
@@ -1,6 +1,7 @@
 package com.magmaguy.magmacore.scripting.tables;
 
 import com.magmaguy.magmacore.MagmaCore;
+import com.magmaguy.magmacore.scripting.ReadOnlyLuaTable;
 import com.magmaguy.magmacore.util.TemporaryBlockManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Color;
@@ -19,6 +20,9 @@ import org.bukkit.entity.Firework;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.FireworkMeta;
 import org.bukkit.util.RayTraceResult;
@@ -31,6 +35,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 
@@ -43,6 +50,10 @@ public final class LuaWorldTable {
     private LuaWorldTable() {}
 
     private static final List<BiConsumer<LuaTable, World>> enrichers = new CopyOnWriteArrayList<>();
+    private static final Map<UUID, CachedTable> cache = new ConcurrentHashMap<>();
+
+    private record CachedTable(World world, LuaTable table) {
+    }
 
     /**
      * Registers a tier-2 enricher that adds plugin-specific methods to every context.world
@@ -53,11 +64,49 @@ public final class LuaWorldTable {
     public static void registerEnricher(BiConsumer<LuaTable, World> enricher) {
         if (enricher == null) return;
         enrichers.add(enricher);
+        cache.clear();
+    }
+
+    /**
+     * Gets the shared world table for {@code world}, building it on first use. The table only holds functions bound
+     * to the world and its name, so every script context in that world can use the same one instead of rebuilding
+     * dozens of functions per hook call. The table is read-only, so no script can remove or replace a function
+     * another script relies on. Dropped when the world unloads.
+     */
+    public static LuaTable get(World world) {
+        if (world == null) return build(null);
+        CachedTable cached = cache.get(world.getUID());
+        // A world reloaded under the same UID is a new World object
+        if (cached != null && cached.world() == world) return cached.table();
+        // Frozen in place rather than copied: the functions strip the table they were built on as their method self
+        LuaTable table = ReadOnlyLuaTable.freezeInPlace(filled -> populate(filled, world));
+        cache.put(world.getUID(), new CachedTable(world, table));
+        return table;
+    }
+
+    public static void invalidate(World world) {
+        if (world != null) cache.remove(world.getUID());
+    }
+
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    public static class LuaWorldTableEvents implements Listener {
+        @EventHandler
+        public void onWorldUnload(WorldUnloadEvent event) {
+            invalidate(event.getWorld());
+        }
     }
 
     public static LuaTable build(World world) {
         LuaTable table = new LuaTable();
-        if (world == null) return table;
+        populate(table, world);
+        return table;
+    }
+
+    private static void populate(LuaTable table, World world) {
+        if (world == null) return;
 
         table.set("name", world.getName());
 
@@ -423,8 +472,6 @@ public final class LuaWorldTable {
                 // An enricher failure must not poison the whole world table.
             }
         }
-
-        return table;
     }
 
     // ── Lua method-call boilerplate ────────────────────────────────────
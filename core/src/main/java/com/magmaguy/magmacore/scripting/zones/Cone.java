@@ -16,6 +16,13 @@ public class Cone extends Shape {
     private final double borderRadius; // Used for borderContains (an inner cone)
     private List<Location> locationList = null;
     private List<Location> edgeLocations = null;
+    private final double apexX;
+    private final double apexY;
+    private final double apexZ;
+    private final double axisX;
+    private final double axisY;
+    private final double axisZ;
+    private final double axisLengthSquared;
 
     /**
      * Constructs a Cone shape.
@@ -31,59 +38,72 @@ public class Cone extends Shape {
         this.bottom = bottom.clone();
         this.baseRadius = baseRadius;
         this.borderRadius = borderRadius;
+        this.apexX = top.getX();
+        this.apexY = top.getY();
+        this.apexZ = top.getZ();
+        this.axisX = bottom.getX() - apexX;
+        this.axisY = bottom.getY() - apexY;
+        this.axisZ = bottom.getZ() - apexZ;
+        this.axisLengthSquared = axisX * axisX + axisY * axisY + axisZ * axisZ;
     }
 
     /**
-     * Returns the axis vector from the top (apex) to the bottom (base center).
+     * Checks whether a given location is inside the cone.
      */
-    private Vector getAxis() {
-        return bottom.toVector().subtract(top.toVector());
+    @Override
+    public boolean contains(Location position) {
+        // Ensure the location is in the same world as the cone.
+        if (!sameWorld(position, top))
+            return false;
+        return contains(position.getX(), position.getY(), position.getZ());
+    }
+
+    @Override
+    public boolean contains(double x, double y, double z) {
+        return contains(x, y, z, baseRadius);
     }
 
     /**
-     * Checks whether a given location is inside the cone.
+     * Checks whether a position is inside a cone with this one's apex and axis and the given base radius.
      *
      * The method works by:
      * 1. Translating the position relative to the apex.
      * 2. Projecting that vector onto the cone's axis.
      * 3. Computing the fraction t along the axis (0 = at the apex, 1 = at the base).
-     * 4. Verifying that the perpendicular distance is within the allowed radius (t * baseRadius).
+     * 4. Verifying that the perpendicular distance is within the allowed radius (t * radius).
      */
-    @Override
-    public boolean contains(Location position) {
-        // Ensure the location is in the same world as the cone.
-        if (!position.getWorld().equals(top.getWorld()))
-            return false;
-
-        Vector apex = top.toVector();
-        Vector axis = getAxis();
-        Vector p = position.toVector().subtract(apex);
-        double axisLengthSquared = axis.lengthSquared();
+    private boolean contains(double x, double y, double z, double radius) {
+        double pX = x - apexX;
+        double pY = y - apexY;
+        double pZ = z - apexZ;
 
         // Determine how far along the axis the point lies.
-        double t = p.dot(axis) / axisLengthSquared;
+        double t = (pX * axisX + pY * axisY + pZ * axisZ) / axisLengthSquared;
         if (t < 0 || t > 1) {
             return false; // Outside the cone's height range.
         }
 
-        // Find the point on the axis that is closest to our position.
-        Vector projection = axis.clone().multiply(t);
-        double distanceSquared = p.subtract(projection).lengthSquared();
-        double allowedRadius = t * baseRadius;
-        return distanceSquared <= allowedRadius * allowedRadius;
+        // Distance from the point on the axis that is closest to our position.
+        double dX = pX - axisX * t;
+        double dY = pY - axisY * t;
+        double dZ = pZ - axisZ * t;
+        double allowedRadius = t * radius;
+        return dX * dX + dY * dY + dZ * dZ <= allowedRadius * allowedRadius;
     }
 
     /**
-     * For a living entity we test multiple points along the entity's bounding box.
+     * For a living entity we test the feet, center and top of the entity's bounding box.
      */
     @Override
     public boolean contains(LivingEntity livingEntity) {
-        org.bukkit.util.BoundingBox bb = livingEntity.getBoundingBox();
-        // Check feet, center, and eye-level positions
-        Location feet = livingEntity.getLocation();
-        Location center = new Location(feet.getWorld(), bb.getCenterX(), bb.getCenterY(), bb.getCenterZ());
-        Location top = new Location(feet.getWorld(), bb.getCenterX(), bb.getMaxY(), bb.getCenterZ());
-        return contains(feet) || contains(center) || contains(top);
+        if (!livingEntity.getWorld().equals(top.getWorld())) return false;
+        return containsAny(livingEntity.getBoundingBox(), baseRadius);
+    }
+
+    private boolean containsAny(org.bukkit.util.BoundingBox bb, double radius) {
+        return contains(bb.getCenterX(), bb.getMinY(), bb.getCenterZ(), radius)
+                || contains(bb.getCenterX(), bb.getCenterY(), bb.getCenterZ(), radius)
+                || contains(bb.getCenterX(), bb.getMaxY(), bb.getCenterZ(), radius);
     }
 
     /**
@@ -92,15 +112,12 @@ public class Cone extends Shape {
      */
     @Override
     public boolean borderContains(Location position) {
-        // Create an inner cone with a smaller base radius.
-        Cone innerCone = new Cone(top, bottom, borderRadius, borderRadius);
-        return contains(position) && !innerCone.contains(position);
+        return contains(position) && !contains(position.getX(), position.getY(), position.getZ(), borderRadius);
     }
 
     @Override
     public boolean borderContains(LivingEntity livingEntity) {
-        Cone innerCone = new Cone(top, bottom, borderRadius, borderRadius);
-        return contains(livingEntity) && !innerCone.contains(livingEntity);
+        return contains(livingEntity) && !containsAny(livingEntity.getBoundingBox(), borderRadius);
     }
 
     /**
@@ -121,6 +138,17 @@ public class Cone extends Shape {
         return top.clone().add(bottom.toVector().subtract(top.toVector()).multiply(0.5));
     }
 
+    @Override
+    public org.bukkit.util.BoundingBox getBoundingBox() {
+        return new org.bukkit.util.BoundingBox(
+                Math.min(top.getX(), bottom.getX()) - baseRadius,
+                Math.min(top.getY(), bottom.getY()) - baseRadius,
+                Math.min(top.getZ(), bottom.getZ()) - baseRadius,
+                Math.max(top.getX(), bottom.getX()) + baseRadius,
+                Math.max(top.getY(), bottom.getY()) + baseRadius,
+                Math.max(top.getZ(), bottom.getZ()) + baseRadius);
+    }
+
     /**
      * Returns the edge (border) locations of the cone.
      */
@@ -157,9 +185,8 @@ public class Cone extends Shape {
         for (double x = Math.floor(minX); x <= Math.ceil(maxX); x++) {
             for (double y = Math.floor(minY); y <= Math.ceil(maxY); y++) {
                 for (double z = Math.floor(minZ); z <= Math.ceil(maxZ); z++) {
-                    Location testLoc = new Location(top.getWorld(), x, y, z);
-                    if (contains(testLoc)) {
-                        locationList.add(testLoc);
+                    if (contains(x, y, z)) {
+                        locationList.add(new Location(top.getWorld(), x, y, z));
                     }
                 }
             }
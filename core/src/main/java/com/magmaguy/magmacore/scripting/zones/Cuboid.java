@@ -20,6 +20,14 @@ public class Cuboid extends Shape {
     private List<Vector> edgeVectors = null;
     private Float z;
     private Float zBorder;
+    private final double centerX;
+    private final double centerY;
+    private final double centerZ;
+    private final double extentX;
+    private final double extentY;
+    private final double extentZ;
+    private final BoundingBox entityBox;
+    private final BoundingBox innerEntityBox;
 
     public Cuboid(Float x, Float y, Float z, Float xBorder, Float yBorder, Float zBorder, Location centerLocation) {
         this.x = x;
@@ -28,45 +36,50 @@ public class Cuboid extends Shape {
         this.xBorder = xBorder;
         this.yBorder = yBorder;
         this.zBorder = zBorder;
-        this.centerLocation = centerLocation;
+        this.centerLocation = centerLocation.clone();
         if (x != 0 && z == 0) this.z = x;
         if (xBorder != 0 && zBorder == 0) this.zBorder = xBorder;
+        this.centerX = centerLocation.getX();
+        this.centerY = centerLocation.getY();
+        this.centerZ = centerLocation.getZ();
+        this.extentX = this.x;
+        this.extentY = this.y;
+        this.extentZ = this.z;
+        this.entityBox = new BoundingBox(
+                Math.floor(x / 2D + centerLocation.getBlockX()), y / 2D + centerLocation.getBlockY(), Math.floor(this.z / 2D + centerLocation.getBlockZ()),
+                Math.floor(-x / 2D + centerLocation.getBlockX()), centerLocation.getBlockY(), Math.floor(-this.z / 2D + centerLocation.getBlockZ()));
+        this.innerEntityBox = new BoundingBox(
+                Math.floor(xBorder / 2D + centerLocation.getBlockX()), yBorder / 2D + centerLocation.getBlockY(), Math.floor(this.zBorder / 2D + centerLocation.getBlockZ()),
+                Math.floor(-xBorder / 2D + centerLocation.getBlockX()), centerLocation.getBlockY(), Math.floor(-this.zBorder / 2D + centerLocation.getBlockZ()));
     }
 
     @Override
     public boolean contains(Location position) {
-        Vector localVector = position.clone().subtract(centerLocation).toVector();
-        if (Math.abs(localVector.getX()) > x) return false;
-        if (Math.abs(localVector.getY()) > y) return false;
-        return !(Math.abs(localVector.getZ()) > z);
+        return sameWorld(position, centerLocation) && contains(position.getX(), position.getY(), position.getZ());
+    }
+
+    @Override
+    public boolean contains(double x, double y, double z) {
+        return Math.abs(x - centerX) <= extentX && Math.abs(y - centerY) <= extentY && Math.abs(z - centerZ) <= extentZ;
     }
 
     @Override
     public boolean contains(LivingEntity livingEntity) {
-        BoundingBox boundingBox = new BoundingBox(
-                Math.floor(x / 2D + centerLocation.getBlockX()), y / 2D + centerLocation.getBlockY(), Math.floor(z / 2D + centerLocation.getBlockZ()),
-                Math.floor(-x / 2D + centerLocation.getBlockX()), centerLocation.getBlockY(), Math.floor(-z / 2D + centerLocation.getBlockZ()));
-        return livingEntity.getBoundingBox().overlaps(boundingBox);
+        return livingEntity.getBoundingBox().overlaps(entityBox);
     }
 
     @Override
     public boolean borderContains(Location position) {
-        Vector localVector = position.clone().subtract(centerLocation).toVector();
-        if (!(Math.abs(localVector.getX()) <= x / 2D && Math.abs(localVector.getX()) >= xBorder / 2D ||
-                Math.abs(localVector.getZ()) <= z / 2D && Math.abs(localVector.getZ()) >= zBorder / 2D)) return false;
-        return !(y > 0) || !(Math.abs(localVector.getY()) <= y) || !(Math.abs(localVector.getY()) >= yBorder);
+        double localX = Math.abs(position.getX() - centerX);
+        double localY = Math.abs(position.getY() - centerY);
+        double localZ = Math.abs(position.getZ() - centerZ);
+        if (!(localX <= x / 2D && localX >= xBorder / 2D || localZ <= z / 2D && localZ >= zBorder / 2D)) return false;
+        return !(y > 0) || !(localY <= y) || !(localY >= yBorder);
     }
 
     @Override
     public boolean borderContains(LivingEntity livingEntity) {
-        return contains(livingEntity) && !innerCuboidContains(livingEntity);
-    }
-
-    private boolean innerCuboidContains(LivingEntity livingEntity) {
-        BoundingBox boundingBox = new BoundingBox(
-                Math.floor(xBorder / 2D + centerLocation.getBlockX()), yBorder / 2D + centerLocation.getBlockY(), Math.floor(zBorder / 2D + centerLocation.getBlockZ()),
-                Math.floor(-xBorder / 2D + centerLocation.getBlockX()), centerLocation.getBlockY(), Math.floor(-zBorder / 2D + centerLocation.getBlockZ()));
-        return livingEntity.getBoundingBox().overlaps(boundingBox);
+        return contains(livingEntity) && !livingEntity.getBoundingBox().overlaps(innerEntityBox);
     }
 
     @Override
@@ -79,6 +92,13 @@ public class Cuboid extends Shape {
         return centerLocation;
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return new BoundingBox(
+                centerX - extentX, centerY - extentY, centerZ - extentZ,
+                centerX + extentX, centerY + extentY, centerZ + extentZ);
+    }
+
     @Override
     public List<Location> getEdgeLocations() {
         return convert(getEdgeVectors());
@@ -35,45 +35,48 @@ public class Cylinder extends Shape {
     }
 
     public boolean contains(Vector position) {
-        double dX = position.getX() - center.getX();
-        double dZ = position.getZ() - center.getZ();
-        return dX * dX + dZ * dZ < radius * radius && position.getY() < center.getY() + height && position.getY() >= center.getY();
+        return contains(position.getX(), position.getY(), position.getZ());
+    }
+
+    @Override
+    public boolean contains(double x, double y, double z) {
+        return y >= center.getY() && y < center.getY() + height && horizontalDistanceSquared(x, z) < radius * radius;
     }
 
     public boolean borderContains(Location position) {
-        Cylinder innerCylinder = new Cylinder(centerLocation, borderRadius, height, borderRadius);
-        return contains(position) && !innerCylinder.contains(position);
+        return contains(position) && horizontalDistanceSquared(position.getX(), position.getZ()) >= borderRadius * borderRadius;
     }
 
     @Override
     public boolean borderContains(LivingEntity livingEntity) {
-        Cylinder innerCylinder = new Cylinder(centerLocation, borderRadius, height, borderRadius);
-        return contains(livingEntity) && !innerCylinder.contains(livingEntity);
+        BoundingBox boundingBox = livingEntity.getBoundingBox();
+        return overlaps(boundingBox, radius) && !overlaps(boundingBox, borderRadius);
     }
 
     public boolean contains(Location position) {
-        return contains(position.toVector());
+        return contains(position.getX(), position.getY(), position.getZ());
     }
 
     @Override
     public boolean contains(LivingEntity livingEntity) {
-        BoundingBox boundingBox = livingEntity.getBoundingBox();
-        if (centerLocation.getY() > boundingBox.getMinY() || centerLocation.getY() + height < boundingBox.getMaxY())
-            return false;
-
-        double circleDistanceX = Math.abs(centerLocation.getX() - boundingBox.getCenterX());
-        double circleDistanceZ = Math.abs(centerLocation.getZ() - boundingBox.getCenterZ());
-
-        if (circleDistanceX > (boundingBox.getWidthX() / 2d + radius)) return false;
-        if (circleDistanceZ > (boundingBox.getWidthZ() / 2d + radius)) return false;
-
-        if (circleDistanceX <= (boundingBox.getWidthX() / 2d)) return true;
-        if (circleDistanceZ <= (boundingBox.getWidthZ() / 2d)) return true;
+        return overlaps(livingEntity.getBoundingBox(), radius);
+    }
 
-        double cornerDistanceSquared = Math.pow((circleDistanceX - boundingBox.getWidthX()) / 2D, 2) +
-                Math.pow((circleDistanceZ - boundingBox.getWidthZ()) / 2D, 2);
+    /**
+     * Whether the box fits within the cylinder's height and its footprint touches a circle of {@code circleRadius}
+     * around the axis.
+     */
+    private boolean overlaps(BoundingBox boundingBox, double circleRadius) {
+        if (center.getY() > boundingBox.getMinY() || center.getY() + height < boundingBox.getMaxY()) return false;
+        double dX = Math.max(boundingBox.getMinX() - center.getX(), Math.max(0, center.getX() - boundingBox.getMaxX()));
+        double dZ = Math.max(boundingBox.getMinZ() - center.getZ(), Math.max(0, center.getZ() - boundingBox.getMaxZ()));
+        return dX * dX + dZ * dZ <= circleRadius * circleRadius;
+    }
 
-        return cornerDistanceSquared <= radius * radius;
+    private double horizontalDistanceSquared(double x, double z) {
+        double dX = x - center.getX();
+        double dZ = z - center.getZ();
+        return dX * dX + dZ * dZ;
     }
 
     public void visualize(Particle particle) {
@@ -85,6 +88,13 @@ public class Cylinder extends Shape {
         return centerLocation;
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return new BoundingBox(
+                center.getX() - radius, center.getY(), center.getZ() - radius,
+                center.getX() + radius, center.getY() + height, center.getZ() + radius);
+    }
+
     @Override
     public List<Location> getEdgeLocations() {
         if (edgeVectors != null) return convert(edgeVectors);
@@ -102,9 +112,7 @@ public class Cylinder extends Shape {
         for (int x = (int) -radius; x < (int) radius; x++)
             for (int z = (int) -radius; z < (int) radius; z++)
                 for (int y = 0; y < height; y++) {
-                    Vector newVector = new Vector(x, y, z);
-                    Location newLocation = centerLocation.clone().add(newVector);
-                    if (contains(newLocation)) locationVectors.add(newVector);
+                    if (contains(center.getX() + x, center.getY() + y, center.getZ() + z)) locationVectors.add(new Vector(x, y, z));
                 }
         return locationVectors;
     }
@@ -13,8 +13,8 @@ public class Dome extends Sphere {
     }
 
     @Override
-    public boolean contains(Location position) {
-        return super.contains(position) && position.getY() > centerLocation.getY() - 1;
+    public boolean contains(double x, double y, double z) {
+        return super.contains(x, y, z) && y > centerY - 1;
     }
 
     @Override
@@ -34,9 +34,7 @@ public class Dome extends Sphere {
         for (int x = (int) -radius; x < (int) radius; x++)
             for (int z = (int) -radius; z < (int) radius; z++)
                 for (int y = 0; y < radius; y++) {
-                    Vector newVector = new Vector(x, y, z);
-                    Location newLocation = centerLocation.clone().add(newVector);
-                    if (contains(newLocation)) locationVectors.add(newVector);
+                    if (contains(centerX + x, centerY + y, centerZ + z)) locationVectors.add(new Vector(x, y, z));
                 }
         return locationVectors;
     }
@@ -3,6 +3,7 @@ package com.magmaguy.magmacore.scripting.zones;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -17,6 +18,12 @@ public class Ray extends Shape {
     protected List<Location> locations = new ArrayList<>();
     protected Location currentSource;
     protected Location currentTarget;
+    // The list last returned by drawLine and the segment it samples, so containment can be tested against the
+    // segment directly while locations still holds those points
+    private List<Location> drawnLocations;
+    private int drawnSize;
+    private double startX, startY, startZ;
+    private double endX, endY, endZ;
 
     public Ray(boolean ignoresSolidBlocks, double pointRadius, Location centerLocation, Location initialTargetLocation) {
         this.ignoresSolidBlocks = ignoresSolidBlocks;
@@ -40,38 +47,98 @@ public class Ray extends Shape {
             if (!ignoresSolidBlocks && currentLocation.getBlock().getType().isSolid()) break;
             locations.add(currentLocation.clone());
         }
+        Location last = locations.get(locations.size() - 1);
+        drawnLocations = locations;
+        drawnSize = locations.size();
+        startX = location1.getX();
+        startY = location1.getY();
+        startZ = location1.getZ();
+        endX = last.getX();
+        endY = last.getY();
+        endZ = last.getZ();
         return locations;
     }
 
     //Children override this
     @Override
     public boolean contains(Location position) {
-        for (Location location : locations)
-            if (location.distanceSquared(position) < Math.pow(thickness, 2)) return true;
+        return sameWorld(position, centerLocation) && contains(position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * Tests against the segment from the first to the last drawn point rather than against every point, which
+     * also covers the small gaps between neighbouring points. Locations not produced by
+     * {@link #drawLine(Location, Location)} are tested point by point.
+     */
+    @Override
+    public boolean contains(double x, double y, double z) {
+        double thicknessSquared = thickness * thickness;
+        if (isDrawnSegment())
+            return segmentDistanceSquared(x, y, z, startX, startY, startZ, endX, endY, endZ) < thicknessSquared;
+        for (Location location : locations) {
+            double dX = location.getX() - x;
+            double dY = location.getY() - y;
+            double dZ = location.getZ() - z;
+            if (dX * dX + dY * dY + dZ * dZ < thicknessSquared) return true;
+        }
         return false;
     }
 
     @Override
     public boolean contains(LivingEntity livingEntity) {
-        for (Location location : locations){
-            // Find the closest point on the AABB to the sphere center
-            double closestX = clamp(location.getX(), livingEntity.getBoundingBox().getMinX(), livingEntity.getBoundingBox().getMaxX());
-            double closestY = clamp(location.getY(), livingEntity.getBoundingBox().getMinY(), livingEntity.getBoundingBox().getMaxY());
-            double closestZ = clamp(location.getZ(), livingEntity.getBoundingBox().getMinZ(), livingEntity.getBoundingBox().getMaxZ());
+        BoundingBox boundingBox = livingEntity.getBoundingBox();
+        if (isDrawnSegment())
+            return segmentIntersects(boundingBox, thickness);
+        for (Location location : locations)
+            if (distanceSquared(boundingBox, location.getX(), location.getY(), location.getZ()) <= thickness * thickness)
+                return true;
+        return false;
+    }
 
-            // Compute the distance from the sphere center to this closest point
-            double distanceSquared = location.distanceSquared(new Location(location.getWorld(),closestX, closestY, closestZ));
+    private boolean isDrawnSegment() {
+        return locations != null && locations == drawnLocations && locations.size() == drawnSize;
+    }
 
-            // Check if the distance is less than or equal to the radius squared
-            if  (distanceSquared <= (thickness * thickness)) return true;
-        }
-        return false;
+    /**
+     * Slab test of the drawn segment against the box grown by {@code margin} on every side. Growing the box rather
+     * than rounding it is slightly generous near its edges and corners.
+     */
+    private boolean segmentIntersects(BoundingBox box, double margin) {
+        double enter = Math.max(0, Math.max(
+                slabEntry(startX, endX - startX, box.getMinX() - margin, box.getMaxX() + margin),
+                Math.max(slabEntry(startY, endY - startY, box.getMinY() - margin, box.getMaxY() + margin),
+                        slabEntry(startZ, endZ - startZ, box.getMinZ() - margin, box.getMaxZ() + margin))));
+        double exit = Math.min(1, Math.min(
+                slabExit(startX, endX - startX, box.getMinX() - margin, box.getMaxX() + margin),
+                Math.min(slabExit(startY, endY - startY, box.getMinY() - margin, box.getMaxY() + margin),
+                        slabExit(startZ, endZ - startZ, box.getMinZ() - margin, box.getMaxZ() + margin))));
+        return enter <= exit;
+    }
+
+    private static double slabEntry(double origin, double direction, double min, double max) {
+        if (direction == 0) return origin < min || origin > max ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        return Math.min((min - origin) / direction, (max - origin) / direction);
+    }
+
+    private static double slabExit(double origin, double direction, double min, double max) {
+        if (direction == 0) return origin < min || origin > max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        return Math.max((min - origin) / direction, (max - origin) / direction);
     }
 
-    private double clamp(double value, double min, double max) {
-        if (value < min) return min;
-        if (value > max) return max;
-        return value;
+    /**
+     * Squared distance from a point to the closest point of the segment from a to b.
+     */
+    static double segmentDistanceSquared(double x, double y, double z,
+                                         double aX, double aY, double aZ,
+                                         double bX, double bY, double bZ) {
+        double abX = bX - aX, abY = bY - aY, abZ = bZ - aZ;
+        double apX = x - aX, apY = y - aY, apZ = z - aZ;
+        double lengthSquared = abX * abX + abY * abY + abZ * abZ;
+        double t = lengthSquared == 0 ? 0 : (apX * abX + apY * abY + apZ * abZ) / lengthSquared;
+        if (t < 0) t = 0;
+        else if (t > 1) t = 1;
+        double dX = apX - abX * t, dY = apY - abY * t, dZ = apZ - abZ * t;
+        return dX * dX + dY * dY + dZ * dZ;
     }
 
     //Children override this
@@ -2,6 +2,7 @@ package com.magmaguy.magmacore.scripting.zones;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
 
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -11,6 +12,9 @@ public class ScriptZone {
     private final Set<UUID> insidePlayers = new HashSet<>();
     private BiConsumer<Player, ScriptZone> onEnter;
     private BiConsumer<Player, ScriptZone> onLeave;
+    // Set while the zone is in ScriptZoneRegistry
+    UUID registeredWorld;
+    BoundingBox registeredBounds;
 
     public ScriptZone(Shape shape) {
         this.shape = shape;
@@ -20,6 +24,20 @@ public class ScriptZone {
     public void setOnLeave(BiConsumer<Player, ScriptZone> callback) { this.onLeave = callback; }
     public Shape getShape() { return shape; }
 
+    public boolean hasCallbacks() { return onEnter != null || onLeave != null; }
+
+    void fireEnter(Player player) {
+        if (onEnter != null) onEnter.accept(player, this);
+    }
+
+    void fireLeave(Player player) {
+        if (onLeave != null) onLeave.accept(player, this);
+    }
+
+    /**
+     * Tests the given players against this zone and fires enter/leave callbacks. Zones tracked by
+     * {@link ScriptZoneRegistry} are ticked by the registry instead.
+     */
     public void tick(Collection<? extends Player> nearbyPlayers) {
         Set<UUID> currentlyInside = new HashSet<>();
         for (Player player : nearbyPlayers) {
@@ -42,5 +60,6 @@ public class ScriptZone {
 
     public void shutdown() {
         insidePlayers.clear();
+        ScriptZoneRegistry.unregister(this);
     }
 }
@@ -0,0 +1,227 @@
+package com.magmaguy.magmacore.scripting.zones;
+
+import com.magmaguy.magmacore.util.ChunkKeyMap;
+import com.magmaguy.magmacore.util.ChunkLocationChecker;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks which players are inside which watched {@link ScriptZone}s, for every script at once.
+ * <p>
+ * Zones are bucketed by the chunks their bounding box covers. Each tick, every player in a world with zones is
+ * only tested against the zones bucketed in their own chunk, after a bounding box check. A player whose position
+ * hasn't changed since their last test (and with no zone added or removed since) isn't tested at all. Enter and
+ * leave callbacks come from the difference between a player's previous and current zone set, and fire after the
+ * whole pass so they can safely add or remove zones.
+ * <p>
+ * Main thread only.
+ */
+public final class ScriptZoneRegistry {
+
+    // Zones covering more chunks than this are tested against every player in their world instead
+    private static final int MAX_INDEXED_CHUNKS = 256;
+
+    private static final Map<UUID, WorldZones> worlds = new HashMap<>();
+    private static final Map<UUID, PlayerZones> players = new HashMap<>();
+    private static final List<Transition> transitions = new ArrayList<>();
+    private static final Location scratch = new Location(null, 0, 0, 0);
+    private static int version;
+    private static long tick;
+
+    private ScriptZoneRegistry() {
+    }
+
+    private static final class WorldZones {
+        private final ChunkKeyMap<List<ScriptZone>> chunks = new ChunkKeyMap<>();
+        private final List<ScriptZone> unindexed = new ArrayList<>();
+        private int size;
+    }
+
+    private static final class PlayerZones {
+        private Set<ScriptZone> inside = new HashSet<>();
+        private Set<ScriptZone> next = new HashSet<>();
+        private UUID world;
+        private double x;
+        private double y;
+        private double z;
+        private int version = -1;
+        private long seenTick;
+    }
+
+    private record Transition(ScriptZone zone, Player player, boolean enter) {
+    }
+
+    /**
+     * Starts tracking players against {@code zone}. Does nothing if it's already tracked or its shape has no world.
+     */
+    public static void register(ScriptZone zone) {
+        if (zone.registeredWorld != null) return;
+        Location center = zone.getShape().getCenter();
+        if (center == null || center.getWorld() == null) return;
+
+        UUID worldId = center.getWorld().getUID();
+        BoundingBox bounds = zone.getShape().getBoundingBox();
+        zone.registeredWorld = worldId;
+        zone.registeredBounds = bounds;
+
+        WorldZones worldZones = worlds.computeIfAbsent(worldId, id -> new WorldZones());
+        worldZones.size++;
+        if (!forEachChunk(bounds, key -> worldZones.chunks.computeIfAbsent(key, k -> new ArrayList<>()).add(zone)))
+            worldZones.unindexed.add(zone);
+        version++;
+    }
+
+    /**
+     * Stops tracking {@code zone}. Players inside it are dropped from it without a leave callback.
+     */
+    public static void unregister(ScriptZone zone) {
+        UUID worldId = zone.registeredWorld;
+        if (worldId == null) return;
+        BoundingBox bounds = zone.registeredBounds;
+        zone.registeredWorld = null;
+        zone.registeredBounds = null;
+
+        WorldZones worldZones = worlds.get(worldId);
+        if (worldZones != null) {
+            if (!forEachChunk(bounds, key -> {
+                List<ScriptZone> bucket = worldZones.chunks.get(key);
+                if (bucket == null) return;
+                bucket.remove(zone);
+                if (bucket.isEmpty()) worldZones.chunks.remove(key);
+            })) worldZones.unindexed.remove(zone);
+            if (--worldZones.size == 0) worlds.remove(worldId);
+        }
+        for (PlayerZones playerZones : players.values()) playerZones.inside.remove(zone);
+        version++;
+    }
+
+    public static void clear() {
+        worlds.values().forEach(worldZones -> {
+            worldZones.unindexed.forEach(ScriptZoneRegistry::forget);
+            worldZones.chunks.forEach((key, bucket) -> bucket.forEach(ScriptZoneRegistry::forget));
+        });
+        worlds.clear();
+        players.clear();
+        transitions.clear();
+        version++;
+    }
+
+    /**
+     * Updates every player's zone membership and fires the resulting enter/leave callbacks. Call once per tick.
+     */
+    public static void tick() {
+        if (worlds.isEmpty() && players.isEmpty()) return;
+        tick++;
+
+        for (Map.Entry<UUID, WorldZones> entry : worlds.entrySet()) {
+            World world = Bukkit.getWorld(entry.getKey());
+            if (world == null) continue;
+            WorldZones worldZones = entry.getValue();
+            for (Player player : world.getPlayers()) {
+                PlayerZones playerZones = players.computeIfAbsent(player.getUniqueId(), id -> new PlayerZones());
+                playerZones.seenTick = tick;
+                player.getLocation(scratch);
+                if (playerZones.version == version && entry.getKey().equals(playerZones.world)
+                        && playerZones.x == scratch.getX() && playerZones.y == scratch.getY() && playerZones.z == scratch.getZ())
+                    continue;
+                playerZones.version = version;
+                playerZones.world = entry.getKey();
+                playerZones.x = scratch.getX();
+                playerZones.y = scratch.getY();
+                playerZones.z = scratch.getZ();
+                update(player, playerZones, worldZones);
+            }
+        }
+
+        // Players no longer in any world with zones (moved away, logged off) leave everything they were in
+        Iterator<Map.Entry<UUID, PlayerZones>> iterator = players.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, PlayerZones> entry = iterator.next();
+            if (entry.getValue().seenTick == tick) continue;
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null)
+                for (ScriptZone zone : entry.getValue().inside) transitions.add(new Transition(zone, player, false));
+            iterator.remove();
+        }
+
+        if (transitions.isEmpty()) return;
+        List<Transition> fired = new ArrayList<>(transitions);
+        transitions.clear();
+        for (Transition transition : fired) {
+            // A callback earlier in this batch may have removed the zone
+            if (transition.zone().registeredWorld == null) continue;
+            if (transition.enter()) transition.zone().fireEnter(transition.player());
+            else transition.zone().fireLeave(transition.player());
+        }
+    }
+
+    private static void update(Player player, PlayerZones playerZones, WorldZones worldZones) {
+        Set<ScriptZone> current = playerZones.next;
+        current.clear();
+        double x = scratch.getX();
+        double y = scratch.getY();
+        double z = scratch.getZ();
+        List<ScriptZone> bucket = worldZones.chunks.getOrDefault(
+                ChunkLocationChecker.chunkKey(floor(x) >> 4, floor(z) >> 4), Collections.emptyList());
+        for (ScriptZone zone : bucket) test(zone, x, y, z, current);
+        for (ScriptZone zone : worldZones.unindexed) test(zone, x, y, z, current);
+
+        for (ScriptZone zone : current)
+            if (!playerZones.inside.contains(zone)) transitions.add(new Transition(zone, player, true));
+        for (ScriptZone zone : playerZones.inside)
+            if (!current.contains(zone)) transitions.add(new Transition(zone, player, false));
+
+        playerZones.next = playerZones.inside;
+        playerZones.inside = current;
+    }
+
+    private static void test(ScriptZone zone, double x, double y, double z, Set<ScriptZone> inside) {
+        BoundingBox bounds = zone.registeredBounds;
+        if (bounds != null && (x < bounds.getMinX() || x > bounds.getMaxX()
+                || y < bounds.getMinY() || y > bounds.getMaxY()
+                || z < bounds.getMinZ() || z > bounds.getMaxZ())) return;
+        if (zone.getShape().contains(x, y, z)) inside.add(zone);
+    }
+
+    private static void forget(ScriptZone zone) {
+        zone.registeredWorld = null;
+        zone.registeredBounds = null;
+    }
+
+    /**
+     * Runs {@code action} for the key of every chunk {@code bounds} covers.
+     *
+     * @return false, without running anything, if there are no bounds or they cover too many chunks to index
+     */
+    private static boolean forEachChunk(BoundingBox bounds, LongConsumer action) {
+        if (bounds == null) return false;
+        int minX = floor(bounds.getMinX()) >> 4;
+        int maxX = floor(bounds.getMaxX()) >> 4;
+        int minZ = floor(bounds.getMinZ()) >> 4;
+        int maxZ = floor(bounds.getMaxZ()) >> 4;
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > MAX_INDEXED_CHUNKS) return false;
+        for (int chunkX = minX; chunkX <= maxX; chunkX++)
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++)
+                action.accept(ChunkLocationChecker.chunkKey(chunkX, chunkZ));
+        return true;
+    }
+
+    private static int floor(double value) {
+        int truncated = (int) value;
+        return value < truncated ? truncated - 1 : truncated;
+    }
+}
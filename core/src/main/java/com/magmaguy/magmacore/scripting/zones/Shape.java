@@ -3,12 +3,23 @@ package com.magmaguy.magmacore.scripting.zones;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 
 import java.util.List;
 
 public abstract class Shape {
     public abstract boolean contains(Location position);
 
+    /**
+     * Same as {@link #contains(Location)} for a position in the shape's world, without going through a
+     * {@link Location}. The built-in shapes answer this from precomputed doubles; other shapes fall back to
+     * {@link #contains(Location)}.
+     */
+    public boolean contains(double x, double y, double z) {
+        Location center = getCenter();
+        return contains(new Location(center == null ? null : center.getWorld(), x, y, z));
+    }
+
     public abstract boolean contains(LivingEntity livingEntity);
 
     public abstract boolean borderContains(Location position);
@@ -22,4 +33,30 @@ public abstract class Shape {
     public abstract List<Location> getEdgeLocations();
 
     public abstract List<Location> getLocations();
+
+    /**
+     * Axis-aligned box around every position {@link #contains(Location)} can accept, used to skip containment
+     * tests for positions nowhere near the shape. Null if the shape can't bound itself, in which case it is
+     * always tested.
+     */
+    public BoundingBox getBoundingBox() {
+        return null;
+    }
+
+    /**
+     * Whether {@code position} is in the same world as {@code reference}. Positions without a world are assumed to be.
+     */
+    protected static boolean sameWorld(Location position, Location reference) {
+        return position.getWorld() == null || reference.getWorld() == null || position.getWorld().equals(reference.getWorld());
+    }
+
+    /**
+     * Squared distance from a point to the closest point of an axis-aligned box, 0 if the point is inside it.
+     */
+    protected static double distanceSquared(BoundingBox box, double x, double y, double z) {
+        double dX = x < box.getMinX() ? box.getMinX() - x : x > box.getMaxX() ? x - box.getMaxX() : 0;
+        double dY = y < box.getMinY() ? box.getMinY() - y : y > box.getMaxY() ? y - box.getMaxY() : 0;
+        double dZ = z < box.getMinZ() ? box.getMinZ() - z : z > box.getMaxZ() ? z - box.getMaxZ() : 0;
+        return dX * dX + dY * dY + dZ * dZ;
+    }
 }
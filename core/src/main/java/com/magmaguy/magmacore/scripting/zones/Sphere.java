@@ -3,6 +3,7 @@ package com.magmaguy.magmacore.scripting.zones;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -16,36 +17,54 @@ public class Sphere extends Shape {
     protected List<Vector> edgeVectors = null;
     protected double borderRadius = 1;
     protected Location centerLocation;
+    protected final double centerX;
+    protected final double centerY;
+    protected final double centerZ;
+    protected final double radiusSquared;
+    protected final double borderRadiusSquared;
 
     public Sphere(double radius, Location centerLocation, double borderRadius) {
         this.radius = radius;
         this.centerLocation = centerLocation.clone();
         this.borderRadius = borderRadius;
+        this.centerX = centerLocation.getX();
+        this.centerY = centerLocation.getY();
+        this.centerZ = centerLocation.getZ();
+        this.radiusSquared = radius * radius;
+        this.borderRadiusSquared = borderRadius * borderRadius;
     }
 
     @Override
     public boolean contains(Location position) {
-        return centerLocation.distanceSquared(position) < Math.pow(radius, 2);
+        return sameWorld(position, centerLocation) && contains(position.getX(), position.getY(), position.getZ());
+    }
+
+    @Override
+    public boolean contains(double x, double y, double z) {
+        return distanceSquared(x, y, z) < radiusSquared;
     }
 
     @Override
     public boolean contains(LivingEntity livingEntity) {
-        double entityRadius = (livingEntity.getEyeLocation().getY() - livingEntity.getLocation().getY()) / 2D;
-        Location EntityCenterLocation = livingEntity.getLocation().add(new Vector(0, entityRadius, 0));
-        double radiusSum = radius + entityRadius;
-        return EntityCenterLocation.distanceSquared(centerLocation) <= Math.pow(radiusSum, 2);
+        if (!livingEntity.getWorld().equals(centerLocation.getWorld())) return false;
+        return distanceSquared(livingEntity.getBoundingBox(), centerX, centerY, centerZ) <= radiusSquared;
     }
 
     @Override
     public boolean borderContains(Location position) {
-        Sphere innerSphere = new Sphere(borderRadius, centerLocation, borderRadius);
-        return contains(position) && !innerSphere.contains(position);
+        return contains(position) && distanceSquared(position.getX(), position.getY(), position.getZ()) >= borderRadiusSquared;
     }
 
     @Override
     public boolean borderContains(LivingEntity livingEntity) {
-        Sphere innerSphere = new Sphere(borderRadius, centerLocation, borderRadius);
-        return contains(livingEntity) && !innerSphere.contains(livingEntity);
+        return contains(livingEntity) && distanceSquared(livingEntity.getBoundingBox(), centerX, centerY, centerZ) > borderRadiusSquared;
+    }
+
+    private double distanceSquared(double x, double y, double z) {
+        double dX = x - centerX;
+        double dY = y - centerY;
+        double dZ = z - centerZ;
+        return dX * dX + dY * dY + dZ * dZ;
     }
 
     @Override
@@ -58,6 +77,13 @@ public class Sphere extends Shape {
         return centerLocation;
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return new BoundingBox(
+                centerX - radius, centerY - radius, centerZ - radius,
+                centerX + radius, centerY + radius, centerZ + radius);
+    }
+
     @Override
     public List<Location> getEdgeLocations() {
         if (edgeVectors != null) return convert(edgeVectors);
@@ -75,9 +101,7 @@ public class Sphere extends Shape {
         for (int x = (int) -radius; x < (int) radius; x++)
             for (int z = (int) -radius; z < (int) radius; z++)
                 for (int y = (int) -radius; y < radius; y++) {
-                    Vector newVector = new Vector(x, y, z);
-                    Location newLocation = centerLocation.clone().add(newVector);
-                    if (contains(newLocation)) locationVectors.add(newVector);
+                    if (contains(centerX + x, centerY + y, centerZ + z)) locationVectors.add(new Vector(x, y, z));
                 }
         return locationVectors;
     }
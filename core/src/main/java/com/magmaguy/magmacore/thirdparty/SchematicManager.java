@@ -24,6 +24,7 @@ import com.sk89q.worldedit.world.World;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
 import com.sk89q.worldedit.world.block.BlockStateHolder;
+import com.sk89q.worldedit.world.block.BlockType;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -34,7 +35,9 @@ import org.bukkit.util.Vector;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 
@@ -42,6 +45,8 @@ import java.util.function.Function;
 public class SchematicManager {
     // Queue to hold pending paste operations
     private static final Queue<PasteBlockOperation> pasteQueue = new ConcurrentLinkedQueue<>();
+    // Compiled schematics by file; soft so unused ones can be reclaimed under memory pressure
+    private static final Map<File, SoftReference<CompiledSchematic>> compiledSchematics = new ConcurrentHashMap<>();
     private static boolean erroredOnce = false;
     private static boolean isDistributedPasting = false;
 
@@ -101,14 +106,14 @@ public class SchematicManager {
     /**
      * Creates a list of paste blocks from a schematic
      *
-     * @param schematicClipboard       The clipboard containing the schematic
+     * @param schematic                The compiled schematic
      * @param location                 The location to paste at
      * @param schematicOffset          The offset of the schematic
      * @param pedestalMaterialProvider Function that provides pedestal material based on whether it's a surface block
      * @return List of paste blocks
      */
     private static List<PasteBlock> createPasteBlocks(
-            Clipboard schematicClipboard,
+            CompiledSchematic schematic,
             Location location,
             Vector schematicOffset,
             Function<Boolean, Material> pedestalMaterialProvider,
@@ -118,82 +123,155 @@ public class SchematicManager {
 
         // Iterate through the schematic and create PasteBlock objects
         Location adjustedLocation = location.clone().add(schematicOffset);
-        for (int x = 0; x < schematicClipboard.getDimensions().x(); x++)
-            for (int y = 0; y < schematicClipboard.getDimensions().y(); y++)
-                for (int z = 0; z < schematicClipboard.getDimensions().z(); z++) {
-                    BlockVector3 adjustedClipboardLocation = BlockVector3.at(
-                            x + schematicClipboard.getMinimumPoint().x(),
-                            y + schematicClipboard.getMinimumPoint().y(),
-                            z + schematicClipboard.getMinimumPoint().z());
-                    BaseBlock baseBlock = schematicClipboard.getFullBlock(adjustedClipboardLocation);
-                    BlockState blockState = baseBlock.toImmutableState();
-                    BlockData blockData = Bukkit.createBlockData(baseBlock.toImmutableState().getAsString());
-                    Material material = BukkitAdapter.adapt(baseBlock.getBlockType());
-                    Block worldBlock = adjustedLocation.clone().add(new Vector(x, y, z)).getBlock();
-                    String materialString = material.toString().toUpperCase(Locale.ROOT);
-                    boolean isGround = !BukkitAdapter.adapt(schematicClipboard.getBlock(
-                            BlockVector3.at(adjustedClipboardLocation.x(),
-                                    adjustedClipboardLocation.y() + 1,
-                                    adjustedClipboardLocation.z())).getBlockType()).isSolid();
+        org.bukkit.World world = adjustedLocation.getWorld();
+        int baseX = adjustedLocation.getBlockX();
+        int baseY = adjustedLocation.getBlockY();
+        int baseZ = adjustedLocation.getBlockZ();
+        int index = 0;
+        for (int x = 0; x < schematic.sizeX; x++)
+            for (int y = 0; y < schematic.sizeY; y++)
+                for (int z = 0; z < schematic.sizeZ; z++) {
+                    PaletteEntry entry = schematic.palette[schematic.blocks[index++]];
+                    Material material = entry.material;
 
                     if (material == Material.BARRIER || material == Material.AIR && !pasteAir) {
                         // special behavior: do not replace barriers, so do nothing
-                    } else if (materialString.endsWith("SIGN") ||
-                            materialString.endsWith("STAIRS") ||
-                            materialString.endsWith("BOX") ||
-                            materialString.endsWith("CHEST_BOAT") ||
-                            materialString.equals("BEACON") ||
-                            materialString.endsWith("FURNACE") ||
-                            materialString.equals("CALIBRATED_SCULK_SENSOR") ||
-                            materialString.equals("CAMPFIRE") ||
-                            materialString.equals("CARTOGRAPHY_TABLE") ||
-                            materialString.equals("CAULDRON") ||
-                            materialString.contains("COMMAND_BLOCK") ||
-                            materialString.endsWith("ANVIL") ||
-                            materialString.equals("CRAFTER") ||
-                            materialString.equals("ITEM_FRAME") ||
-                            materialString.equals("DISPENSER") ||
-                            materialString.equals("DROPPER") ||
-                            materialString.equals("ENCHANTING_TABLE") ||
-                            materialString.equals("BARREL") ||
-                            materialString.equals("CHEST") ||
-                            materialString.equals("ENDER_CHEST") ||
-                            materialString.equals("TRAPPED_CHEST") ||
-                            materialString.equals("FLETCHING_TABLE") ||
-                            materialString.equals("FURNACE_MINECART") ||
-                            materialString.equals("GRINDSTONE") ||
-                            materialString.equals("HOPPER") ||
-                            materialString.equals("HOPPER_MINECART") ||
-                            materialString.equals("JUKEBOX") ||
-                            materialString.equals("LEVER") ||
-                            materialString.equals("LOOM") ||
-                            materialString.equals("LODESTONE") ||
-                            materialString.startsWith("POTTED") ||
-                            materialString.startsWith("SCULK") ||
-                            materialString.equals("POWERED_RAIL") ||
-                            materialString.equals("SMOKER") ||
-                            materialString.equals("STONECUTTER") ||
-                            materialString.equals("SOUL_CAMPFIRE") ||
-                            materialString.contains("SPAWNER")) {
+                    } else if (entry.clipboard != null) {
                         // tricky metadata has to be done via worldedit
-                        pasteBlocks.add(new PasteBlock(worldBlock, null,
-                                createSingleBlockClipboard(adjustedLocation, baseBlock, blockState)));
+                        pasteBlocks.add(new PasteBlock(world.getBlockAt(baseX + x, baseY + y, baseZ + z), null, entry.clipboard));
                     } else if (material == Material.BEDROCK) {
                         // special behavior: if it's not solid, replace with solid filler block
+                        Block worldBlock = world.getBlockAt(baseX + x, baseY + y, baseZ + z);
                         if (!worldBlock.getType().isSolid()) {
+                            // index already points past this block; the one above it is sizeZ further
+                            boolean isGround = y + 1 >= schematic.sizeY
+                                    || !schematic.palette[schematic.blocks[index - 1 + schematic.sizeZ]].solid;
                             Material pedestalMaterial = pedestalMaterialProvider.apply(isGround);
                             worldBlock.setType(pedestalMaterial);
                             pasteBlocks.add(new PasteBlock(worldBlock, pedestalMaterial.createBlockData(), null));
                         }
                     } else {
-                        pasteBlocks.add(new PasteBlock(worldBlock, blockData, null));
+                        pasteBlocks.add(new PasteBlock(world.getBlockAt(baseX + x, baseY + y, baseZ + z), entry.blockData, null));
                     }
                 }
 
         return pasteBlocks;
     }
 
-    private static Clipboard createSingleBlockClipboard(Location location, BaseBlock baseBlock, BlockState blockState) {
+    /**
+     * Returns the compiled form of a schematic file, compiling it on first use and again whenever the file changes.
+     *
+     * @param schematicFile The schematic file
+     * @return The compiled schematic, or null if the file could not be loaded
+     */
+    public static CompiledSchematic compile(File schematicFile) {
+        long lastModified = schematicFile.lastModified();
+        long length = schematicFile.length();
+        SoftReference<CompiledSchematic> reference = compiledSchematics.get(schematicFile.getAbsoluteFile());
+        CompiledSchematic cached = reference == null ? null : reference.get();
+        if (cached != null && cached.lastModified == lastModified && cached.length == length) return cached;
+
+        Clipboard clipboard = load(schematicFile);
+        if (clipboard == null) return null;
+        CompiledSchematic compiled = compile(clipboard, lastModified, length);
+        compiledSchematics.put(schematicFile.getAbsoluteFile(), new SoftReference<>(compiled));
+        return compiled;
+    }
+
+    /**
+     * Drops every compiled schematic, for example after a reload.
+     */
+    public static void clearCompiledSchematics() {
+        compiledSchematics.clear();
+    }
+
+    /**
+     * Reads every block of the clipboard once. Each distinct block state is parsed into {@link BlockData} and
+     * classified (skipped, pasted through WorldEdit, pedestal or plain) a single time; blocks are then stored as
+     * indexes into that palette.
+     */
+    private static CompiledSchematic compile(Clipboard clipboard, long lastModified, long length) {
+        BlockVector3 dimensions = clipboard.getDimensions();
+        BlockVector3 minimum = clipboard.getMinimumPoint();
+        int sizeX = dimensions.x();
+        int sizeY = dimensions.y();
+        int sizeZ = dimensions.z();
+
+        Map<Object, Integer> paletteIndexes = new HashMap<>();
+        Map<BlockType, Material> materials = new HashMap<>();
+        List<PaletteEntry> palette = new ArrayList<>();
+        int[] blocks = new int[sizeX * sizeY * sizeZ];
+        int index = 0;
+        for (int x = 0; x < sizeX; x++)
+            for (int y = 0; y < sizeY; y++)
+                for (int z = 0; z < sizeZ; z++) {
+                    BaseBlock baseBlock = clipboard.getFullBlock(BlockVector3.at(x + minimum.x(), y + minimum.y(), z + minimum.z()));
+                    BlockState blockState = baseBlock.toImmutableState();
+                    Material material = materials.computeIfAbsent(blockState.getBlockType(), BukkitAdapter::adapt);
+                    boolean needsWorldEdit = needsWorldEdit(material);
+                    // Blocks pasted through WorldEdit keep their NBT, so those are told apart by the full block
+                    Object key = needsWorldEdit ? baseBlock : blockState;
+                    Integer paletteIndex = paletteIndexes.get(key);
+                    if (paletteIndex == null) {
+                        paletteIndex = palette.size();
+                        paletteIndexes.put(key, paletteIndex);
+                        palette.add(new PaletteEntry(
+                                material,
+                                needsWorldEdit ? null : Bukkit.createBlockData(blockState.getAsString()),
+                                needsWorldEdit ? createSingleBlockClipboard(baseBlock, blockState) : null,
+                                material.isSolid()));
+                    }
+                    blocks[index++] = paletteIndex;
+                }
+
+        return new CompiledSchematic(sizeX, sizeY, sizeZ, palette.toArray(new PaletteEntry[0]), blocks, lastModified, length);
+    }
+
+    /**
+     * Blocks with tricky metadata that have to be pasted through WorldEdit
+     */
+    private static boolean needsWorldEdit(Material material) {
+        String materialString = material.toString().toUpperCase(Locale.ROOT);
+        return materialString.endsWith("SIGN") ||
+                materialString.endsWith("STAIRS") ||
+                materialString.endsWith("BOX") ||
+                materialString.endsWith("CHEST_BOAT") ||
+                materialString.equals("BEACON") ||
+                materialString.endsWith("FURNACE") ||
+                materialString.equals("CALIBRATED_SCULK_SENSOR") ||
+                materialString.equals("CAMPFIRE") ||
+                materialString.equals("CARTOGRAPHY_TABLE") ||
+                materialString.equals("CAULDRON") ||
+                materialString.contains("COMMAND_BLOCK") ||
+                materialString.endsWith("ANVIL") ||
+                materialString.equals("CRAFTER") ||
+                materialString.equals("ITEM_FRAME") ||
+                materialString.equals("DISPENSER") ||
+                materialString.equals("DROPPER") ||
+                materialString.equals("ENCHANTING_TABLE") ||
+                materialString.equals("BARREL") ||
+                materialString.equals("CHEST") ||
+                materialString.equals("ENDER_CHEST") ||
+                materialString.equals("TRAPPED_CHEST") ||
+                materialString.equals("FLETCHING_TABLE") ||
+                materialString.equals("FURNACE_MINECART") ||
+                materialString.equals("GRINDSTONE") ||
+                materialString.equals("HOPPER") ||
+                materialString.equals("HOPPER_MINECART") ||
+                materialString.equals("JUKEBOX") ||
+                materialString.equals("LEVER") ||
+                materialString.equals("LOOM") ||
+                materialString.equals("LODESTONE") ||
+                materialString.startsWith("POTTED") ||
+                materialString.startsWith("SCULK") ||
+                materialString.equals("POWERED_RAIL") ||
+                materialString.equals("SMOKER") ||
+                materialString.equals("STONECUTTER") ||
+                materialString.equals("SOUL_CAMPFIRE") ||
+                materialString.contains("SPAWNER");
+    }
+
+    private static Clipboard createSingleBlockClipboard(BaseBlock baseBlock, BlockState blockState) {
         return new Clipboard() {
             @Override
             public <T extends BlockStateHolder<T>> boolean setBlock(BlockVector3 position, T block) throws WorldEditException {
@@ -272,8 +350,8 @@ public class SchematicManager {
             boolean randomizeRotation,
             boolean pasteAir) {
 
-        Clipboard clipboard = load(schematicFile);
         if (randomizeRotation) {
+            Clipboard clipboard = load(schematicFile);
             double rotateY = new Random().nextInt(4) * 90 - 90;
             if (rotateY < 0) rotateY = 270;
             try {
@@ -283,8 +361,11 @@ public class SchematicManager {
             }
         }
 
+        CompiledSchematic schematic = compile(schematicFile);
+        if (schematic == null) return;
+
         List<PasteBlock> pasteBlocks = createPasteBlocks(
-                load(schematicFile),
+                schematic,
                 location,
                 schematicOffset,
                 pedestalMaterialProvider,
@@ -312,7 +393,7 @@ public class SchematicManager {
             boolean pasteAir) {
 
         List<PasteBlock> pasteBlocks = createPasteBlocks(
-                schematicClipboard,
+                compile(schematicClipboard, 0, 0),
                 location,
                 schematicOffset,
                 pedestalMaterialProvider,
@@ -393,6 +474,45 @@ public class SchematicManager {
 
     public record PasteBlock(Block block, BlockData blockData, Clipboard clipboard) {
     }
+
+    /**
+     * A schematic read into a palette of distinct blocks plus one palette index per block, in x, y, z order. Built
+     * once per schematic file and reused by every paste of it.
+     */
+    public static final class CompiledSchematic {
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private final PaletteEntry[] palette;
+        private final int[] blocks;
+        private final long lastModified;
+        private final long length;
+
+        private CompiledSchematic(int sizeX, int sizeY, int sizeZ, PaletteEntry[] palette, int[] blocks, long lastModified, long length) {
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.palette = palette;
+            this.blocks = blocks;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        public int getPaletteSize() {
+            return palette.length;
+        }
+
+        public int getBlockCount() {
+            return blocks.length;
+        }
+    }
+
+    /**
+     * One distinct block of a compiled schematic. Blocks pasted through WorldEdit carry a single-block clipboard
+     * instead of block data.
+     */
+    private record PaletteEntry(Material material, BlockData blockData, Clipboard clipboard, boolean solid) {
+    }
 }
 
 
@@ -5,7 +5,20 @@ import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
 public class ChunkLocationChecker {
+    private static final int WORLD_INDEX_BITS = 20;
+    private static final int CHUNK_BITS = 22;
+    private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+    private static final Map<UUID, Integer> worldIndexes = new ConcurrentHashMap<>();
+    private static final List<UUID> indexedWorlds = new ArrayList<>();
+
     private ChunkLocationChecker() {
     }
 
@@ -30,6 +43,124 @@ public class ChunkLocationChecker {
                 location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4);
     }
 
+    // PACKED KEYS
+    // Allocation-free alternative to the string keys below, for maps from chunk to state (see ChunkKeyMap)
+
+    /**
+     * Packs chunk coordinates into a long, chunk X in the high 32 bits and chunk Z in the low 32 bits. Only unique
+     * within one world; use {@link #worldChunkKey(World, int, int)} for keys shared between worlds.
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static long chunkKey(Location location) {
+        return chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    public static long chunkKey(Chunk chunk) {
+        return chunkKey(chunk.getX(), chunk.getZ());
+    }
+
+    public static int getChunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    public static int getChunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    /**
+     * Small stable number for a world, assigned on first use and kept until restart, so a world and a chunk fit in
+     * one long (see {@link #worldChunkKey(World, int, int)}).
+     */
+    public static int worldIndex(World world) {
+        Integer index = worldIndexes.get(world.getUID());
+        if (index != null) return index;
+        synchronized (indexedWorlds) {
+            return worldIndexes.computeIfAbsent(world.getUID(), id -> {
+                if (indexedWorlds.size() >= 1 << WORLD_INDEX_BITS)
+                    throw new IllegalStateException("Too many worlds to index");
+                indexedWorlds.add(id);
+                return indexedWorlds.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * @return the world given {@code worldIndex}, or null if it isn't loaded
+     */
+    public static World getWorld(int worldIndex) {
+        UUID worldId;
+        synchronized (indexedWorlds) {
+            if (worldIndex < 0 || worldIndex >= indexedWorlds.size()) return null;
+            worldId = indexedWorlds.get(worldIndex);
+        }
+        return Bukkit.getWorld(worldId);
+    }
+
+    /**
+     * Packs a world and chunk coordinates into a long: {@link #worldIndex(World) world index} in the high 20 bits,
+     * then 22 bits each of chunk X and chunk Z, which covers the whole world border.
+     */
+    public static long worldChunkKey(World world, int chunkX, int chunkZ) {
+        return (long) worldIndex(world) << (2 * CHUNK_BITS) | (chunkX & CHUNK_MASK) << CHUNK_BITS | (chunkZ & CHUNK_MASK);
+    }
+
+    /**
+     * @return the world chunk key of the chunk holding {@code location}, or -1 if it has no world
+     */
+    public static long worldChunkKey(Location location) {
+        if (location == null || location.getWorld() == null) return -1;
+        return worldChunkKey(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    public static long worldChunkKey(Chunk chunk) {
+        return worldChunkKey(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
+    public static int getWorldIndex(long worldChunkKey) {
+        return (int) (worldChunkKey >>> (2 * CHUNK_BITS));
+    }
+
+    public static int getWorldChunkX(long worldChunkKey) {
+        return (int) (worldChunkKey << (64 - 2 * CHUNK_BITS) >> (64 - CHUNK_BITS));
+    }
+
+    public static int getWorldChunkZ(long worldChunkKey) {
+        return (int) (worldChunkKey << (64 - CHUNK_BITS) >> (64 - CHUNK_BITS));
+    }
+
+    /**
+     * Checks if the chunk of a {@link #worldChunkKey world chunk key} is loaded
+     */
+    public static boolean isChunkLoaded(long worldChunkKey) {
+        World world = getWorld(getWorldIndex(worldChunkKey));
+        return world != null && world.isChunkLoaded(getWorldChunkX(worldChunkKey), getWorldChunkZ(worldChunkKey));
+    }
+
+    /**
+     * Runs {@code action} with the {@link #chunkKey(int, int) chunk key} of every chunk whose center is within
+     * {@code radius} chunks of the given chunk's center, the given chunk included.
+     */
+    public static void forEachChunkInRadius(int centerChunkX, int centerChunkZ, int radius, LongConsumer action) {
+        long radiusSquared = (long) radius * radius;
+        for (int dX = -radius; dX <= radius; dX++)
+            for (int dZ = -radius; dZ <= radius; dZ++)
+                if ((long) dX * dX + (long) dZ * dZ <= radiusSquared)
+                    action.accept(chunkKey(centerChunkX + dX, centerChunkZ + dZ));
+    }
+
+    /**
+     * Same as {@link #forEachChunkInRadius(int, int, int, LongConsumer)}, but for every chunk in the square
+     * {@code radius} chunks around the given chunk.
+     */
+    public static void forEachChunkInSquare(int centerChunkX, int centerChunkZ, int radius, LongConsumer action) {
+        for (int chunkX = centerChunkX - radius; chunkX <= centerChunkX + radius; chunkX++)
+            for (int chunkZ = centerChunkZ - radius; chunkZ <= centerChunkZ + radius; chunkZ++)
+                action.accept(chunkKey(chunkX, chunkZ));
+    }
+
     // NEW METHODS FOR STRING CONVERSION
 
     /**
@@ -0,0 +1,75 @@
+package com.magmaguy.magmacore.location;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BlockResultCacheTest {
+
+    private static final UUID WORLD_ID = UUID.randomUUID();
+    private static final World WORLD = (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getUID" -> WORLD_ID;
+                case "hashCode" -> WORLD_ID.hashCode();
+                case "equals" -> proxy == args[0];
+                default -> null;
+            });
+
+    @Test
+    void blockKeysRoundTrip() {
+        int[][] positions = {{0, 0, 0}, {-1, -64, -1}, {29_999_999, 319, -29_999_999}, {-30_000_000, 2047, 12}};
+        for (int[] position : positions) {
+            long key = BlockResultCache.blockKey(position[0], position[1], position[2]);
+            assertEquals(position[0], BlockResultCache.blockX(key));
+            assertEquals(position[1], BlockResultCache.blockY(key));
+            assertEquals(position[2], BlockResultCache.blockZ(key));
+        }
+    }
+
+    @Test
+    void answersAreScopedToTheirBlockAndEpoch() {
+        BlockResultCache<String> cache = new BlockResultCache<>(64, 60_000);
+        cache.put(new Location(WORLD, 10.2, 64, -3.7), 1, "owned");
+
+        assertEquals("owned", cache.get(new Location(WORLD, 10.9, 64.5, -3.1), 1));
+        assertNull(cache.get(new Location(WORLD, 11, 64, -4), 1));
+        assertNull(cache.get(new Location(WORLD, 10, 64, -4), 2));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void peekLeavesCountingToTheCaller() {
+        BlockResultCache<String> cache = new BlockResultCache<>(64, 60_000);
+        cache.put(new Location(WORLD, 1, 64, 1), 0, "owned");
+
+        assertEquals("owned", cache.peek(new Location(WORLD, 1, 64, 1), 0));
+        assertNull(cache.peek(new Location(WORLD, 2, 64, 1), 0));
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+
+        cache.recordHit();
+        cache.recordMiss();
+        cache.recordMiss();
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void chunkInvalidationOnlyDropsThatChunk() {
+        BlockResultCache<String> cache = new BlockResultCache<>(1024, 60_000);
+        cache.put(new Location(WORLD, 5, 70, 5), 0, "inside");
+        cache.put(new Location(WORLD, -5, 70, 5), 0, "neighbour");
+
+        cache.invalidate(WORLD_ID, 0, 0);
+
+        assertNull(cache.get(new Location(WORLD, 5, 70, 5), 0));
+        assertEquals("neighbour", cache.get(new Location(WORLD, -5, 70, 5), 0));
+    }
+}
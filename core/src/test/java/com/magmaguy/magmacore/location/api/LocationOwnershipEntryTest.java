@@ -0,0 +1,78 @@
+package com.magmaguy.magmacore.location.api;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationOwnershipEntryTest {
+
+    private final World dungeonWorld = world();
+    private final World otherWorld = world();
+
+    @Test
+    void entryWithoutOwnershipCheckOwnsOnlyItsBoxes() {
+        Map<World, Collection<BoundingBox>> regions = Map.of(dungeonWorld, List.of(new BoundingBox(0, 0, 0, 16, 64, 16)));
+        LocationOwnershipEntry entry = new LocationOwnershipEntry("Dungeons", null, loc -> Set.of("dungeon"),
+                loc -> true, world -> regions.get(world));
+
+        assertTrue(entry.test(new Location(dungeonWorld, 8, 10, 8)));
+        assertFalse(entry.test(new Location(dungeonWorld, 40, 10, 8)));
+        assertFalse(entry.test(new Location(otherWorld, 8, 10, 8)));
+        assertEquals(Set.of("dungeon"), entry.kindsAt(new Location(dungeonWorld, 8, 10, 8)));
+        assertTrue(entry.kindsAt(new Location(dungeonWorld, 40, 10, 8)).isEmpty());
+        assertTrue(entry.isProtectedAt(new Location(dungeonWorld, 8, 10, 8)));
+        assertFalse(entry.isProtectedAt(new Location(otherWorld, 8, 10, 8)));
+    }
+
+    @Test
+    void ownershipCheckIsNotTrustedOutsideTheBoxes() {
+        LocationOwnershipEntry entry = new LocationOwnershipEntry("Dungeons", loc -> true, null, null,
+                world -> List.of(new BoundingBox(0, 0, 0, 16, 64, 16)));
+
+        assertTrue(entry.test(new Location(dungeonWorld, 1, 1, 1)));
+        assertFalse(entry.test(new Location(dungeonWorld, -1, 1, 1)));
+    }
+
+    @Test
+    void regionsAreReadAgainAfterInvalidation() {
+        List<BoundingBox> boxes = new ArrayList<>(List.of(new BoundingBox(0, 0, 0, 16, 64, 16)));
+        LocationOwnershipEntry entry = new LocationOwnershipEntry("Dungeons", null, null, null, world -> boxes);
+        Location moved = new Location(dungeonWorld, 100, 10, 100);
+        assertFalse(entry.test(moved));
+
+        boxes.set(0, new BoundingBox(96, 0, 96, 112, 64, 112));
+        LocationOwnershipEntry.invalidateRegions();
+        assertTrue(entry.test(moved));
+    }
+
+    @Test
+    void entryWithoutRegionsOnlyAsksItsCheck() {
+        LocationOwnershipEntry entry = new LocationOwnershipEntry("Worlds", loc -> loc.getX() > 0, null, null);
+        assertTrue(entry.test(new Location(otherWorld, 5000, 1, 1)));
+        assertFalse(entry.test(new Location(otherWorld, -5, 1, 1)));
+    }
+
+    private static World world() {
+        UUID uid = UUID.randomUUID();
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUID" -> uid;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,34 @@
+package com.magmaguy.magmacore.scripting;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptStatsTest {
+
+    @Test
+    void bucketsCoverEveryValueAndBoundItFromAbove() {
+        long[] samples = {0, 1, 3, 4, 7, 8, 9, 1_000, 123_456, 50_000_000L, Long.MAX_VALUE};
+        for (long nanos : samples) {
+            long upper = ScriptStats.HookStats.upperBound(ScriptStats.HookStats.bucketOf(nanos));
+            assertTrue(upper >= nanos, nanos + " -> " + upper);
+            assertTrue(upper - nanos <= nanos / 4 + 1, nanos + " -> " + upper);
+        }
+    }
+
+    @Test
+    void p99IgnoresTheSlowestOnePercent() {
+        ScriptStats stats = new ScriptStats();
+        for (int i = 0; i < 990; i++) stats.record("on_game_tick", 10_000, 100);
+        for (int i = 0; i < 10; i++) stats.record("on_game_tick", 40_000_000, 100);
+        stats.record("on_spawn", 1_000, 5);
+
+        ScriptStats.HookStats tick = stats.getHooks().get("on_game_tick");
+        assertEquals(1000, tick.getCalls());
+        assertEquals(100_000, tick.getInstructions());
+        assertTrue(tick.getP99Nanos() >= 10_000 && tick.getP99Nanos() < 12_500, String.valueOf(tick.getP99Nanos()));
+        assertEquals(1001, stats.getTotal().getCalls());
+        assertEquals(40_000_000, stats.getTotal().getMaxNanos());
+    }
+}
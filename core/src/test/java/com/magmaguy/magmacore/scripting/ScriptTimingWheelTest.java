@@ -0,0 +1,56 @@
+package com.magmaguy.magmacore.scripting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ScriptTimingWheelTest {
+
+    private record TestTimer(long dueTick) implements ScriptTimingWheel.Timer {
+        @Override
+        public long getDueTick() {
+            return dueTick;
+        }
+    }
+
+    @Test
+    void timersExpireOnTheirDueTickAcrossEveryLevel() {
+        ScriptTimingWheel<TestTimer> wheel = new ScriptTimingWheel<>();
+        long[] delays = {1, 2, 255, 256, 257, 1000, 16_383, 16_384, 16_385, 300_000, 1_048_577};
+        // Start off a level boundary so slots wrap around
+        for (int i = 0; i < 100; i++) wheel.advance(timer -> {
+        });
+        for (long delay : delays) {
+            wheel.schedule(new TestTimer(wheel.getCurrentTick() + delay));
+        }
+
+        List<Long> mismatches = new ArrayList<>();
+        int expired = 0;
+        long end = wheel.getCurrentTick() + delays[delays.length - 1];
+        while (wheel.getCurrentTick() < end) {
+            int[] count = new int[1];
+            wheel.advance(timer -> {
+                count[0]++;
+                if (timer.dueTick() != wheel.getCurrentTick()) mismatches.add(timer.dueTick());
+            });
+            expired += count[0];
+        }
+
+        assertEquals(List.of(), mismatches);
+        assertEquals(delays.length, expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void alreadyDueTimersAreRejected() {
+        ScriptTimingWheel<TestTimer> wheel = new ScriptTimingWheel<>();
+        wheel.advance(timer -> {
+        });
+        assertFalse(wheel.schedule(new TestTimer(wheel.getCurrentTick())));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.magmaguy.magmacore.scripting.tables;
+
+import org.bukkit.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.jse.JsePlatform;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LuaWorldTableTest {
+
+    private final World world = world();
+
+    @AfterEach
+    void clearCache() {
+        LuaWorldTable.clearCache();
+    }
+
+    @Test
+    void sharedTableRejectsWrites() {
+        LuaTable table = LuaWorldTable.get(world);
+        assertSame(table, LuaWorldTable.get(world));
+
+        Globals globals = JsePlatform.standardGlobals();
+        globals.set("world", table);
+        assertThrows(LuaError.class, () -> globals.load("world.spawn_particle = nil").call());
+        assertThrows(LuaError.class, () -> globals.load("world.get_time = function() return 0 end").call());
+        assertThrows(LuaError.class, () -> globals.load("world.extra = 1").call());
+        assertFalse(table.get("spawn_particle").isnil());
+        assertEquals(1234, globals.load("return world.get_time()").call().toint());
+    }
+
+    @Test
+    void sharedTableKeepsMethodCallSyntax() {
+        Globals globals = JsePlatform.standardGlobals();
+        globals.set("world", LuaWorldTable.get(world));
+        LuaValue result = globals.load("return world:get_time()").call();
+        assertEquals(1234, result.toint());
+    }
+
+    @Test
+    void builtTablesStayWritable() {
+        LuaTable table = LuaWorldTable.build(world);
+        table.set("spawn_particle", LuaValue.NIL);
+        assertEquals(LuaValue.NIL, table.get("spawn_particle"));
+    }
+
+    private static World world() {
+        UUID uid = UUID.randomUUID();
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> "world";
+                    case "getUID" -> uid;
+                    case "getTime" -> 1234L;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+}
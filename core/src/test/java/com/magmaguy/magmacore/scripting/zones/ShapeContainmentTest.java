@@ -0,0 +1,68 @@
+package com.magmaguy.magmacore.scripting.zones;
+
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShapeContainmentTest {
+
+    @Test
+    void segmentDistanceClampsToTheEndpoints() {
+        assertEquals(4, Ray.segmentDistanceSquared(5, 2, 0, 0, 0, 0, 10, 0, 0), 1e-9);
+        assertEquals(9 + 1, Ray.segmentDistanceSquared(-3, 1, 0, 0, 0, 0, 10, 0, 0), 1e-9);
+        assertEquals(4 + 4, Ray.segmentDistanceSquared(12, 0, 2, 0, 0, 0, 10, 0, 0), 1e-9);
+        assertEquals(3, Ray.segmentDistanceSquared(1, 1, 1, 0, 0, 0, 0, 0, 0), 1e-9);
+    }
+
+    @Test
+    void primitiveContainmentMatchesLocationContainment() {
+        Location center = new Location(null, 10.5, 64, -20.25);
+        Shape[] shapes = {
+                new Sphere(4, center, 1),
+                new Dome(4, center, 1),
+                new Cylinder(center, 3, 5, 1),
+                new Cuboid(3f, 2f, 4f, 1f, 1f, 1f, center),
+                new Cone(center, center.clone().add(0, -6, 2), 3, 1)};
+        for (Shape shape : shapes)
+            for (double x = -6; x <= 6; x += 0.75)
+                for (double y = -7; y <= 7; y += 0.75)
+                    for (double z = -6; z <= 6; z += 0.75) {
+                        Location position = center.clone().add(x, y, z);
+                        assertEquals(shape.contains(position), shape.contains(position.getX(), position.getY(), position.getZ()),
+                                shape.getClass().getSimpleName() + " at " + position);
+                    }
+    }
+
+    @Test
+    void boundingBoxesHoldEveryContainedPosition() {
+        Location center = new Location(null, 0, 70, 0);
+        Shape[] shapes = {
+                new Sphere(4, center, 1),
+                new Cylinder(center, 3, 5, 1),
+                new Cuboid(3f, 2f, 4f, 1f, 1f, 1f, center),
+                new Cone(center, center.clone().add(2, -6, 2), 3, 1)};
+        for (Shape shape : shapes)
+            for (double x = -8; x <= 8; x += 0.5)
+                for (double y = 62; y <= 78; y += 0.5)
+                    for (double z = -8; z <= 8; z += 0.5)
+                        if (shape.contains(x, y, z))
+                            assertTrue(shape.getBoundingBox().contains(x, y, z) || onBoxFace(shape, x, y, z),
+                                    shape.getClass().getSimpleName() + " at " + x + ", " + y + ", " + z);
+    }
+
+    @Test
+    void sphereBorderExcludesTheInnerSphere() {
+        Sphere sphere = new Sphere(5, new Location(null, 0, 0, 0), 3);
+        assertFalse(sphere.borderContains(new Location(null, 1, 0, 0)));
+        assertTrue(sphere.borderContains(new Location(null, 4, 0, 0)));
+        assertFalse(sphere.borderContains(new Location(null, 6, 0, 0)));
+    }
+
+    // BoundingBox.contains excludes the max faces, which shapes with inclusive bounds can touch
+    private static boolean onBoxFace(Shape shape, double x, double y, double z) {
+        return shape.getBoundingBox().clone().expand(1e-9).contains(x, y, z);
+    }
+}
@@ -0,0 +1,50 @@
+package com.magmaguy.magmacore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChunkKeyMapTest {
+
+    @Test
+    void behavesLikeAHashMap() {
+        ChunkKeyMap<Integer> map = new ChunkKeyMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long key = ChunkLocationChecker.chunkKey(random.nextInt(64) - 32, random.nextInt(64) - 32);
+            if (random.nextInt(3) == 0) assertEquals(expected.remove(key), map.remove(key));
+            else assertEquals(expected.put(key, i), map.put(key, i));
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet())
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        Map<Long, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    void chunkKeysRoundTrip() {
+        int[][] chunks = {{0, 0}, {-1, -1}, {1_875_000, -1_875_000}, {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+        for (int[] chunk : chunks) {
+            long key = ChunkLocationChecker.chunkKey(chunk[0], chunk[1]);
+            assertEquals(chunk[0], ChunkLocationChecker.getChunkX(key));
+            assertEquals(chunk[1], ChunkLocationChecker.getChunkZ(key));
+        }
+    }
+
+    @Test
+    void radiusCoversACircleOfChunks() {
+        int[] count = new int[1];
+        ChunkLocationChecker.forEachChunkInRadius(10, -3, 2, key -> count[0]++);
+        assertEquals(13, count[0]);
+        count[0] = 0;
+        ChunkLocationChecker.forEachChunkInSquare(10, -3, 2, key -> count[0]++);
+        assertEquals(25, count[0]);
+    }
+}
@@ -41,6 +41,7 @@ val packagePath = "com.magmaguy.shaded"
 
 tasks.shadowJar {
     relocate("org.luaj", "$packagePath.luaj")
+    relocate("org.apache.bcel", "$packagePath.bcel")
     relocate("org.reflections", "$packagePath.reflections")
     archiveBaseName.set("MagmaCore")
     archiveClassifier.set(null as String?)
@@ -1,6 +1,7 @@
 package com.magmaguy.easyminecraftgoals;
 
 import com.magmaguy.easyminecraftgoals.internal.PacketEntityTracker;
+import com.magmaguy.easyminecraftgoals.internal.PacketOutbox;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
@@ -44,6 +45,9 @@ public class NMSManager {
             // Initialize the packet entity tracker for automatic visibility management
             PacketEntityTracker.getInstance().initialize(plugin);
 
+            // Hook the end-of-tick flush for coalesced per-player packet bundles
+            PacketOutbox.initialize(plugin);
+
             // Initialize the packet interaction listener for handling clicks on packet entities
             adapter.initializePacketInteractionListener(plugin);
         } catch (ClassNotFoundException e) {
@@ -82,6 +86,7 @@ public class NMSManager {
             adapter.shutdownPacketInteractionListener();
         }
         PacketEntityTracker.getInstance().shutdown();
+        PacketOutbox.shutdown();
         isEnabled = false;
         adapter = null;
     }
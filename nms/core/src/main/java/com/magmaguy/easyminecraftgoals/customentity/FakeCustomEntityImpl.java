@@ -166,6 +166,9 @@ public final class FakeCustomEntityImpl implements FakeCustomEntity, TrackedPack
     @Override
     public void teleport(Location location) {
         packetEntity.teleport(location);
+        if (definition.tracked()) {
+            PacketEntityTracker.getInstance().move(this);
+        }
     }
 
     @Override
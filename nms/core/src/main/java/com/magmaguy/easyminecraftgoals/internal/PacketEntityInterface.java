@@ -78,6 +78,14 @@ public interface PacketEntityInterface {
         // Default no-op for backwards compatibility
     }
 
+    /**
+     * Syncs only the entity metadata that changed since the last sync, sending nothing if nothing changed.
+     * Default implementation does a full {@link #syncMetadata()}.
+     */
+    default void syncDirtyMetadata() {
+        syncMetadata();
+    }
+
     /**
      * Gets the underlying Bukkit entity for direct modification.
      * After modifying, call syncMetadata() to update viewers.
@@ -0,0 +1,94 @@
+package com.magmaguy.easyminecraftgoals.internal;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Distance-based level-of-detail tiers for packet entity updates.
+ * Each viewer falls into the first tier whose {@link Tier#maxDistance()} covers them; the tier decides how
+ * often they get updates and whether those include transforms (rotation/scale metadata) or only positions.
+ * Viewers past the last tier use that last tier.
+ */
+public final class PacketEntityLod {
+
+    /**
+     * No level of detail - every viewer gets every update.
+     */
+    public static final PacketEntityLod NONE = new PacketEntityLod(new Tier[0]);
+
+    /**
+     * Full-rate transforms within 24 blocks, transforms every 4th tick within 48, positions every 4th tick beyond.
+     */
+    public static final PacketEntityLod DEFAULT = of(
+            new Tier(24, 1, true),
+            new Tier(48, 4, true),
+            new Tier(Double.POSITIVE_INFINITY, 4, false));
+
+    private final Tier[] tiers;
+    private final double[] maxDistancesSquared;
+
+    private PacketEntityLod(Tier[] tiers) {
+        this.tiers = tiers;
+        this.maxDistancesSquared = new double[tiers.length];
+        for (int i = 0; i < tiers.length; i++) {
+            maxDistancesSquared[i] = tiers[i].maxDistance() * tiers[i].maxDistance();
+        }
+    }
+
+    /**
+     * One level of detail.
+     *
+     * @param maxDistance  furthest viewer distance, in blocks, this tier applies to
+     * @param interval     send updates every this many ticks
+     * @param transforms   whether updates include transforms, or only positions
+     */
+    public record Tier(double maxDistance, int interval, boolean transforms) {
+        public static final Tier FULL = new Tier(Double.POSITIVE_INFINITY, 1, true);
+
+        public Tier {
+            if (maxDistance <= 0) throw new IllegalArgumentException("maxDistance must be positive");
+            if (interval < 1) throw new IllegalArgumentException("interval must be at least 1");
+        }
+
+        /**
+         * @return true if this tier gets an update on the given tick
+         */
+        public boolean isDue(int tick) {
+            return interval == 1 || Math.floorMod(tick, interval) == 0;
+        }
+
+        public boolean isFullRate() {
+            return interval == 1 && transforms;
+        }
+    }
+
+    /**
+     * Creates a level of detail from the given tiers, in any order.
+     */
+    public static PacketEntityLod of(Tier... tiers) {
+        if (tiers.length == 0) return NONE;
+        Tier[] sorted = tiers.clone();
+        Arrays.sort(sorted, Comparator.comparingDouble(Tier::maxDistance));
+        return new PacketEntityLod(sorted);
+    }
+
+    /**
+     * @return false for {@link #NONE} or when every tier is full rate, so callers can skip per-viewer work
+     */
+    public boolean isEnabled() {
+        for (Tier tier : tiers) {
+            if (!tier.isFullRate()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the tier for a viewer at the given squared distance.
+     */
+    public Tier tierFor(double distanceSquared) {
+        for (int i = 0; i < tiers.length; i++) {
+            if (distanceSquared <= maxDistancesSquared[i]) return tiers[i];
+        }
+        return tiers.length == 0 ? Tier.FULL : tiers[tiers.length - 1];
+    }
+}
@@ -0,0 +1,232 @@
+package com.magmaguy.easyminecraftgoals.internal;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world chunk-section (16x16x16) bucket index of tracked packet entities.
+ * Lets the tracker find the entities near a player without scanning every tracked entity.
+ * <p>
+ * Each entity is stored with the position it had when it was last indexed, so distance checks
+ * against candidates don't need to re-query (and re-allocate) the entity's location.
+ */
+final class PacketEntitySpatialIndex {
+
+    private static final int SECTION_SHIFT = 4;
+
+    private final Map<TrackedPacketEntity, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<Long, Set<Entry>>> worlds = new ConcurrentHashMap<>();
+    // How many indexed entities use each per-entity tracking range, so the largest one is known after removals
+    private final TreeMap<Double, Integer> trackingRangeCounts = new TreeMap<>();
+    // Largest per-entity tracking range currently indexed; queries must reach at least this far
+    private volatile double maxTrackingRange;
+
+    /**
+     * Indexed position of a tracked entity.
+     */
+    static final class Entry {
+        final TrackedPacketEntity entity;
+        UUID worldId;
+        long sectionKey;
+        double x;
+        double y;
+        double z;
+        // Per-entity tracking range and its square, 0 when the entity uses the tracker's range
+        double range;
+        double rangeSquared;
+
+        private Entry(TrackedPacketEntity entity) {
+            this.entity = entity;
+        }
+    }
+
+    /**
+     * Re-indexes an entity at its current tracking location.
+     * Entities without a world or location are dropped from the index until they have one again.
+     *
+     * @return true if the entity changed section (or world) or was newly indexed
+     */
+    boolean update(TrackedPacketEntity entity) {
+        World world = entity.getWorld();
+        Location location = world == null ? null : entity.getTrackingLocation();
+        if (location == null) {
+            remove(entity);
+            return false;
+        }
+
+        UUID worldId = world.getUID();
+        double x = location.getX();
+        double y = location.getY();
+        double z = location.getZ();
+        long sectionKey = sectionKey(x, y, z);
+        double range = Math.max(0, entity.getTrackingRange());
+
+        Entry entry = entries.get(entity);
+        if (entry == null) {
+            entry = new Entry(entity);
+            entry.worldId = worldId;
+            entry.sectionKey = sectionKey;
+            entry.x = x;
+            entry.y = y;
+            entry.z = z;
+            setRange(entry, range);
+            entries.put(entity, entry);
+            bucket(worldId, sectionKey).add(entry);
+            return true;
+        }
+
+        entry.x = x;
+        entry.y = y;
+        entry.z = z;
+        if (entry.range != range) setRange(entry, range);
+        if (entry.sectionKey == sectionKey && entry.worldId.equals(worldId)) {
+            return false;
+        }
+
+        unbucket(entry);
+        entry.worldId = worldId;
+        entry.sectionKey = sectionKey;
+        bucket(worldId, sectionKey).add(entry);
+        return true;
+    }
+
+    void remove(TrackedPacketEntity entity) {
+        Entry entry = entries.remove(entity);
+        if (entry != null) {
+            unbucket(entry);
+            setRange(entry, 0);
+        }
+    }
+
+    Entry get(TrackedPacketEntity entity) {
+        return entries.get(entity);
+    }
+
+    void clear() {
+        entries.clear();
+        worlds.clear();
+        synchronized (trackingRangeCounts) {
+            trackingRangeCounts.clear();
+            maxTrackingRange = 0;
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the largest per-entity tracking range of the entities indexed now, 0 if none has its own range
+     */
+    double getMaxTrackingRange() {
+        return maxTrackingRange;
+    }
+
+    /**
+     * Collects every indexed entity in the given world whose section overlaps the axis-aligned box
+     * of {@code range} blocks around the point. Callers still need to do their own exact distance check.
+     * <p>
+     * Probes the section grid directly when the box is small, and walks the world's occupied sections
+     * instead when that's cheaper (sparse worlds with a large view distance).
+     *
+     * @param out list that candidates are appended to; not cleared by this method
+     */
+    void query(World world, double x, double y, double z, double range, List<Entry> out) {
+        if (world == null) return;
+        Map<Long, Set<Entry>> sections = worlds.get(world.getUID());
+        if (sections == null || sections.isEmpty()) return;
+
+        int minX = floorSection(x - range);
+        int minY = floorSection(y - range);
+        int minZ = floorSection(z - range);
+        int maxX = floorSection(x + range);
+        int maxY = floorSection(y + range);
+        int maxZ = floorSection(z + range);
+
+        long probeCount = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (sections.size() < probeCount) {
+            for (Map.Entry<Long, Set<Entry>> section : sections.entrySet()) {
+                long key = section.getKey();
+                int sectionX = unpackX(key);
+                int sectionY = unpackY(key);
+                int sectionZ = unpackZ(key);
+                if (sectionX < minX || sectionX > maxX) continue;
+                if (sectionY < minY || sectionY > maxY) continue;
+                if (sectionZ < minZ || sectionZ > maxZ) continue;
+                out.addAll(section.getValue());
+            }
+            return;
+        }
+
+        for (int sectionX = minX; sectionX <= maxX; sectionX++) {
+            for (int sectionZ = minZ; sectionZ <= maxZ; sectionZ++) {
+                for (int sectionY = minY; sectionY <= maxY; sectionY++) {
+                    Set<Entry> bucket = sections.get(pack(sectionX, sectionY, sectionZ));
+                    if (bucket != null) {
+                        out.addAll(bucket);
+                    }
+                }
+            }
+        }
+    }
+
+    private void setRange(Entry entry, double range) {
+        synchronized (trackingRangeCounts) {
+            if (entry.range > 0) trackingRangeCounts.computeIfPresent(entry.range, (key, count) -> count == 1 ? null : count - 1);
+            if (range > 0) trackingRangeCounts.merge(range, 1, Integer::sum);
+            maxTrackingRange = trackingRangeCounts.isEmpty() ? 0 : trackingRangeCounts.lastKey();
+        }
+        entry.range = range;
+        entry.rangeSquared = range * range;
+    }
+
+    private Set<Entry> bucket(UUID worldId, long sectionKey) {
+        return worlds.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(sectionKey, key -> ConcurrentHashMap.newKeySet());
+    }
+
+    private void unbucket(Entry entry) {
+        Map<Long, Set<Entry>> sections = worlds.get(entry.worldId);
+        if (sections == null) return;
+        Set<Entry> bucket = sections.get(entry.sectionKey);
+        if (bucket == null) return;
+        bucket.remove(entry);
+        if (bucket.isEmpty()) {
+            sections.remove(entry.sectionKey, bucket);
+        }
+    }
+
+    static long sectionKey(double x, double y, double z) {
+        return pack(floorSection(x), floorSection(y), floorSection(z));
+    }
+
+    private static int floorSection(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> SECTION_SHIFT;
+    }
+
+    // 22 bits X | 22 bits Z | 20 bits Y, all two's complement
+    private static long pack(int sectionX, int sectionY, int sectionZ) {
+        return ((long) (sectionX & 0x3FFFFF) << 42)
+                | ((long) (sectionZ & 0x3FFFFF) << 20)
+                | (sectionY & 0xFFFFFL);
+    }
+
+    private static int unpackX(long key) {
+        return (int) (key >> 42);
+    }
+
+    private static int unpackZ(long key) {
+        return (int) (key << 22 >> 42);
+    }
+
+    private static int unpackY(long key) {
+        return (int) (key << 44 >> 44);
+    }
+}
@@ -8,8 +8,12 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,12 +22,48 @@ import java.util.concurrent.ConcurrentHashMap;
  * Global tracker for packet entities.
  * Runs a tick task to manage visibility based on player distance.
  * Handles player join, quit, respawn, and world changes.
+ * <p>
+ * Tracked entities are bucketed in a per-world chunk-section index, so a player's visibility pass
+ * only looks at entities in sections near them instead of every tracked entity on the server.
+ * <p>
+ * With {@link PacketEntityTuning#staggerVisibilitySweeps} on, players and entities are hashed into slots and
+ * each tick only handles its own slot, under a time budget, instead of doing all the work on one tick.
+ * <p>
+ * With {@link PacketEntityTuning#movementTriggeredVisibility} on, a player crossing a chunk boundary or a tracked
+ * entity changing chunk section is re-evaluated on the next tick, and the per-player sweep only runs every
+ * {@link #SAFETY_NET_SWEEP_INTERVAL} ticks to catch anything the events missed.
  */
 public class PacketEntityTracker {
 
     private static PacketEntityTracker instance;
+    /**
+     * Bumped whenever a player joins or quits, so per-entity viewer snapshots holding resolved
+     * {@link Player} objects know to drop stale ones.
+     */
+    private static volatile int viewerEpoch;
 
     private final Set<TrackedPacketEntity> trackedEntities = ConcurrentHashMap.newKeySet();
+    private final PacketEntitySpatialIndex spatialIndex = new PacketEntitySpatialIndex();
+    // Entities each player is currently being shown, so hides never need to scan every tracked entity
+    private final Map<UUID, Set<TrackedPacketEntity>> playerViews = new ConcurrentHashMap<>();
+    // Reused candidate buffer for spatial queries; the tracker only ever runs on the main thread
+    private final List<PacketEntitySpatialIndex.Entry> candidates = new ArrayList<>();
+    // Tracked entities bucketed by identity hash; slot i is re-indexed/remounted on ticks where tick % interval == i
+    @SuppressWarnings("unchecked")
+    private final Set<TrackedPacketEntity>[] entitySlots = new Set[REMOUNT_SWEEP_INTERVAL];
+    // Staggered work carried over between ticks when the per-tick budget runs out
+    private final Set<TrackedPacketEntity> pendingRefreshes = new LinkedHashSet<>();
+    private final Set<TrackedPacketEntity> pendingRemounts = new LinkedHashSet<>();
+    private final Set<UUID> pendingPlayers = new LinkedHashSet<>();
+    // Players and entities that crossed a chunk (section) boundary since the last tick
+    private final Set<UUID> movedPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<TrackedPacketEntity> movedEntities = ConcurrentHashMap.newKeySet();
+    // Reverse index of vehicle UUID -> entities riding it, so vehicle events only touch what's attached
+    private final Map<UUID, Set<TrackedPacketEntity>> attachedByVehicle = new ConcurrentHashMap<>();
+    private final Map<TrackedPacketEntity, UUID> vehicleOf = new ConcurrentHashMap<>();
+    // Attached entities only, bucketed like entitySlots, so remounts never visit unattached entities
+    @SuppressWarnings("unchecked")
+    private final Set<TrackedPacketEntity>[] attachedSlots = new Set[REMOUNT_SWEEP_INTERVAL];
     private BukkitTask tickTask;
     private Plugin plugin;
     private long tickCounter = 0;
@@ -34,12 +74,27 @@ public class PacketEntityTracker {
     // Re-mount sweep every 40 ticks (2 seconds). The mount packet is only (re)sent on a hidden->visible
     // transition, so an already-visible display that gets silently detached by a server-side passenger
     // re-sync (vehicle rides, Paper periodic re-track, etc.) would never be remounted otherwise.
+    // Must stay a multiple of VISIBILITY_UPDATE_INTERVAL, since both share the entity slots.
     private static final int REMOUNT_SWEEP_INTERVAL = 40;
 
+    // Per-player sweep interval when movement-triggered updates are on (5 seconds). Entities are still
+    // re-indexed every VISIBILITY_UPDATE_INTERVAL, so ones that follow a vehicle keep raising move updates.
+    // Must stay a multiple of VISIBILITY_UPDATE_INTERVAL.
+    private static final int SAFETY_NET_SWEEP_INTERVAL = 100;
+
     // Default tracking range (blocks) - uses squared distance for performance
     private double trackingRangeSquared = 64 * 64; // 64 blocks default
 
+    // Cost of the last visibility sweep, for diagnostics
+    private long lastSweepNanos = 0;
+    private int lastSweepPlayers = 0;
+    private int lastSweepCandidates = 0;
+
     private PacketEntityTracker() {
+        for (int i = 0; i < entitySlots.length; i++) {
+            entitySlots[i] = ConcurrentHashMap.newKeySet();
+            attachedSlots[i] = ConcurrentHashMap.newKeySet();
+        }
     }
 
     public static PacketEntityTracker getInstance() {
@@ -49,6 +104,13 @@ public class PacketEntityTracker {
         return instance;
     }
 
+    /**
+     * @return a counter that changes whenever a player joins or quits
+     */
+    public static int getViewerEpoch() {
+        return viewerEpoch;
+    }
+
     /**
      * Initializes the tracker with the plugin instance.
      * Starts the tick task and registers event listeners.
@@ -92,6 +154,19 @@ public class PacketEntityTracker {
             }
         }
         trackedEntities.clear();
+        spatialIndex.clear();
+        playerViews.clear();
+        for (int i = 0; i < entitySlots.length; i++) {
+            entitySlots[i].clear();
+            attachedSlots[i].clear();
+        }
+        attachedByVehicle.clear();
+        vehicleOf.clear();
+        pendingRefreshes.clear();
+        pendingRemounts.clear();
+        pendingPlayers.clear();
+        movedPlayers.clear();
+        movedEntities.clear();
 
         plugin = null;
     }
@@ -103,6 +178,12 @@ public class PacketEntityTracker {
      */
     public void register(TrackedPacketEntity entity) {
         trackedEntities.add(entity);
+        entitySlots[slotOf(entity)].add(entity);
+        updateVehicle(entity);
+        spatialIndex.update(entity);
+        if (PacketEntityTuning.movementTriggeredVisibility) {
+            movedEntities.add(entity);
+        }
     }
 
     /**
@@ -112,6 +193,81 @@ public class PacketEntityTracker {
      */
     public void unregister(TrackedPacketEntity entity) {
         trackedEntities.remove(entity);
+        entitySlots[slotOf(entity)].remove(entity);
+        spatialIndex.remove(entity);
+        movedEntities.remove(entity);
+        clearVehicle(entity);
+    }
+
+    /**
+     * Re-reads a tracked entity's vehicle after it was mounted or dismounted.
+     * Keeps the vehicle -> attached entities index current; does nothing for entities that are not registered.
+     *
+     * @param entity The entity whose vehicle changed
+     */
+    public void vehicleChanged(TrackedPacketEntity entity) {
+        if (!trackedEntities.contains(entity)) return;
+        updateVehicle(entity);
+    }
+
+    /**
+     * Gets the tracked entities currently riding the given vehicle.
+     *
+     * @param vehicleUUID The vehicle's UUID
+     * @return The attached entities; empty if none
+     */
+    public Set<TrackedPacketEntity> getAttachedEntities(UUID vehicleUUID) {
+        Set<TrackedPacketEntity> attached = attachedByVehicle.get(vehicleUUID);
+        return attached == null ? Set.of() : attached;
+    }
+
+    private void updateVehicle(TrackedPacketEntity entity) {
+        Entity vehicle = entity.getVehicle();
+        UUID vehicleUUID = vehicle == null ? null : vehicle.getUniqueId();
+        UUID previous = vehicleOf.get(entity);
+        if (vehicleUUID == null ? previous == null : vehicleUUID.equals(previous)) return;
+
+        clearVehicle(entity);
+        if (vehicleUUID == null) return;
+
+        vehicleOf.put(entity, vehicleUUID);
+        attachedByVehicle.computeIfAbsent(vehicleUUID, uuid -> ConcurrentHashMap.newKeySet()).add(entity);
+        attachedSlots[slotOf(entity)].add(entity);
+    }
+
+    private void clearVehicle(TrackedPacketEntity entity) {
+        UUID previous = vehicleOf.remove(entity);
+        if (previous == null) return;
+
+        attachedSlots[slotOf(entity)].remove(entity);
+        Set<TrackedPacketEntity> attached = attachedByVehicle.get(previous);
+        if (attached != null) {
+            attached.remove(entity);
+            if (attached.isEmpty()) {
+                attachedByVehicle.remove(previous, attached);
+            }
+        }
+    }
+
+    /**
+     * Re-indexes a tracked entity after it moved (teleport, move).
+     * Entities that ride a vehicle or otherwise move on their own are also re-indexed every visibility sweep,
+     * so calling this is only needed to make the new position count before the next sweep.
+     * With movement-triggered updates on, an entity that lands in a new chunk section is re-evaluated against
+     * nearby players on the next tick.
+     * Does nothing for entities that are not registered.
+     *
+     * @param entity The entity that moved
+     */
+    public void move(TrackedPacketEntity entity) {
+        if (!trackedEntities.contains(entity)) return;
+        reindex(entity);
+    }
+
+    private void reindex(TrackedPacketEntity entity) {
+        if (spatialIndex.update(entity) && PacketEntityTuning.movementTriggeredVisibility) {
+            movedEntities.add(entity);
+        }
     }
 
     /**
@@ -120,6 +276,13 @@ public class PacketEntityTracker {
     private void tick() {
         tickCounter++;
 
+        processMovementUpdates();
+
+        if (PacketEntityTuning.staggerVisibilitySweeps) {
+            tickStaggered();
+            return;
+        }
+
         // Low-frequency self-healing re-mount sweep. Re-issues the mount packet for already-visible
         // displays whose passenger link may have been silently dropped server-side.
         if (tickCounter % REMOUNT_SWEEP_INTERVAL == 0) {
@@ -141,35 +304,215 @@ public class PacketEntityTracker {
      * per current viewer per attached display, so this stays cheap.
      */
     private void remountSweep() {
-        Iterator<TrackedPacketEntity> iterator = trackedEntities.iterator();
+        Iterator<TrackedPacketEntity> iterator = vehicleOf.keySet().iterator();
 
         while (iterator.hasNext()) {
             TrackedPacketEntity entity = iterator.next();
 
             // Drop entities that are no longer valid; matches updateVisibility() cleanup behavior.
             if (!entity.isValid()) {
-                iterator.remove();
+                unregister(entity);
                 continue;
             }
 
-            // Only remount entities that are actually attached to a vehicle...
-            if (entity.getVehicle() == null) {
+            remountIfAttached(entity);
+        }
+    }
+
+    private void remountIfAttached(TrackedPacketEntity entity) {
+        // Only remount entities that are actually attached to a vehicle...
+        if (entity.getVehicle() == null) {
+            return;
+        }
+
+        // ...and that someone is currently viewing (no point re-sending to nobody).
+        if (entity.getCurrentViewers().isEmpty()) {
+            return;
+        }
+
+        entity.remount();
+    }
+
+    /**
+     * Staggered replacement for the interval sweeps. Each tick queues the entities and players hashed into
+     * this tick's slot, so every entity is still re-indexed and every player still re-checked once per
+     * {@link #VISIBILITY_UPDATE_INTERVAL}, and every attached entity remounted once per
+     * {@link #REMOUNT_SWEEP_INTERVAL}. Queued work is drained until the tick budget runs out; whatever is left
+     * carries over to the next tick. At least one unit of work runs per tick so the queues always drain.
+     */
+    private void tickStaggered() {
+        long start = System.nanoTime();
+        long deadline = start + (long) (PacketEntityTuning.visibilityTickBudgetMillis * 1_000_000L);
+
+        int visibilitySlot = (int) (tickCounter % VISIBILITY_UPDATE_INTERVAL);
+        for (int slot = visibilitySlot; slot < entitySlots.length; slot += VISIBILITY_UPDATE_INTERVAL) {
+            pendingRefreshes.addAll(entitySlots[slot]);
+        }
+        pendingRemounts.addAll(attachedSlots[(int) (tickCounter % REMOUNT_SWEEP_INTERVAL)]);
+        int playerInterval = playerSweepInterval();
+        int playerSlot = (int) (tickCounter % playerInterval);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (Math.floorMod(player.getUniqueId().hashCode(), playerInterval) == playerSlot) {
+                pendingPlayers.add(player.getUniqueId());
+            }
+        }
+
+        boolean worked = false;
+
+        // Index first, so this tick's players see up-to-date positions
+        Iterator<TrackedPacketEntity> refreshes = pendingRefreshes.iterator();
+        while (refreshes.hasNext() && (!worked || System.nanoTime() < deadline)) {
+            TrackedPacketEntity entity = refreshes.next();
+            refreshes.remove();
+            worked = true;
+            if (!trackedEntities.contains(entity)) continue;
+            if (!entity.isValid()) {
+                unregister(entity);
                 continue;
             }
+            updateVehicle(entity);
+            reindex(entity);
+        }
 
-            // ...and that someone is currently viewing (no point re-sending to nobody).
-            if (entity.getCurrentViewers().isEmpty()) {
+        Iterator<TrackedPacketEntity> remounts = pendingRemounts.iterator();
+        while (remounts.hasNext() && (!worked || System.nanoTime() < deadline)) {
+            TrackedPacketEntity entity = remounts.next();
+            remounts.remove();
+            worked = true;
+            if (!trackedEntities.contains(entity)) continue;
+            if (!entity.isValid()) {
+                unregister(entity);
                 continue;
             }
+            remountIfAttached(entity);
+        }
 
-            entity.remount();
+        int players = 0;
+        int candidateChecks = 0;
+        Iterator<UUID> playerIterator = pendingPlayers.iterator();
+        while (playerIterator.hasNext() && (!worked || System.nanoTime() < deadline)) {
+            Player player = Bukkit.getPlayer(playerIterator.next());
+            playerIterator.remove();
+            worked = true;
+            if (player == null || !player.isOnline()) continue;
+            candidateChecks += updateVisibilityForPlayer(player);
+            players++;
+        }
+
+        if (worked) {
+            recordSweep(start, players, candidateChecks);
+        }
+    }
+
+    private static int slotOf(TrackedPacketEntity entity) {
+        return Math.floorMod(System.identityHashCode(entity), REMOUNT_SWEEP_INTERVAL);
+    }
+
+    private static int playerSweepInterval() {
+        return PacketEntityTuning.movementTriggeredVisibility ? SAFETY_NET_SWEEP_INTERVAL : VISIBILITY_UPDATE_INTERVAL;
+    }
+
+    /**
+     * Re-evaluates the players and entities that crossed a chunk boundary since the last tick.
+     * Players get a normal spatial pass at their new position; entities are checked against the players
+     * in their world plus whoever currently sees them.
+     */
+    private void processMovementUpdates() {
+        if (!movedPlayers.isEmpty()) {
+            Iterator<UUID> players = movedPlayers.iterator();
+            while (players.hasNext()) {
+                Player player = Bukkit.getPlayer(players.next());
+                players.remove();
+                if (player != null && player.isOnline()) {
+                    updateVisibilityForPlayer(player);
+                }
+            }
+        }
+
+        if (!movedEntities.isEmpty()) {
+            Iterator<TrackedPacketEntity> entities = movedEntities.iterator();
+            while (entities.hasNext()) {
+                TrackedPacketEntity entity = entities.next();
+                entities.remove();
+                if (trackedEntities.contains(entity) && entity.isValid()) {
+                    updateVisibilityForEntity(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-evaluates a single entity against the players that could be affected by its move.
+     */
+    private void updateVisibilityForEntity(TrackedPacketEntity entity) {
+        PacketEntitySpatialIndex.Entry entry = spatialIndex.get(entity);
+        if (entry == null) return;
+
+        // Current viewers first, in case the entity left their range or their world
+        for (UUID viewerUUID : entity.getCurrentViewers()) {
+            Player viewer = Bukkit.getPlayer(viewerUUID);
+            if (viewer != null) {
+                updatePair(entry, viewer);
+            }
+        }
+
+        World world = entity.getWorld();
+        if (world == null) return;
+        for (Player player : world.getPlayers()) {
+            updatePair(entry, player);
+        }
+    }
+
+    private void updatePair(PacketEntitySpatialIndex.Entry entry, Player player) {
+        Location location = player.getLocation();
+        updatePair(entry, player, player.getWorld().getUID(), location.getX(), location.getY(), location.getZ());
+    }
+
+    private void updatePair(PacketEntitySpatialIndex.Entry entry, Player player,
+                            UUID worldId, double x, double y, double z) {
+        TrackedPacketEntity entity = entry.entity;
+        boolean shouldBeVisible = isInRange(entry, worldId, x, y, z);
+        boolean isCurrentlyVisible = entity.isVisibleTo(player);
+
+        if (shouldBeVisible && !isCurrentlyVisible) {
+            // Show to player
+            show(entity, player);
+        } else if (!shouldBeVisible && isCurrentlyVisible) {
+            // Hide from player
+            hide(entity, player);
+        } else if (isCurrentlyVisible) {
+            // Shown outside the tracker; adopt it so it gets hidden once it leaves range
+            viewsOf(player).add(entity);
         }
     }
 
     /**
      * Updates visibility for all tracked entities.
+     * Refreshes the spatial index, then runs one spatial pass per online player.
      */
     private void updateVisibility() {
+        long start = System.nanoTime();
+
+        refreshIndex();
+
+        int players = 0;
+        int candidateChecks = 0;
+        if (tickCounter % playerSweepInterval() == 0) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                candidateChecks += updateVisibilityForPlayer(player);
+                players++;
+            }
+        }
+
+        recordSweep(start, players, candidateChecks);
+    }
+
+    /**
+     * Drops invalid entities and moves every tracked entity to its current section.
+     * Vehicle-attached entities follow their vehicle without ever calling {@link #move}, so this is what
+     * keeps them findable.
+     */
+    private void refreshIndex() {
         Iterator<TrackedPacketEntity> iterator = trackedEntities.iterator();
 
         while (iterator.hasNext()) {
@@ -177,68 +520,151 @@ public class PacketEntityTracker {
 
             // Check if entity is still valid
             if (!entity.isValid()) {
-                iterator.remove();
+                unregister(entity);
                 continue;
             }
 
-            Location entityLocation = entity.getTrackingLocation();
-            if (entityLocation == null) {
+            updateVehicle(entity);
+            reindex(entity);
+        }
+    }
+
+    /**
+     * Shows the player every nearby entity in range and hides the ones they can see that went out of range.
+     *
+     * @return number of candidate entities that were distance-checked
+     */
+    private int updateVisibilityForPlayer(Player player) {
+        World world = player.getWorld();
+        Location playerLocation = player.getLocation();
+        double x = playerLocation.getX();
+        double y = playerLocation.getY();
+        double z = playerLocation.getZ();
+        UUID worldId = world.getUID();
+
+        Set<TrackedPacketEntity> views = viewsOf(player);
+        // This pass supersedes any pending move update for the player
+        movedPlayers.remove(player.getUniqueId());
+
+        candidates.clear();
+        spatialIndex.query(world, x, y, z, getQueryRange(), candidates);
+        int candidateChecks = candidates.size();
+
+        for (PacketEntitySpatialIndex.Entry entry : candidates) {
+            if (!entry.entity.isValid()) continue;
+            updatePair(entry, player, worldId, x, y, z);
+        }
+        candidates.clear();
+
+        // Anything still shown that wasn't a candidate has left the player's surroundings
+        Iterator<TrackedPacketEntity> iterator = views.iterator();
+        while (iterator.hasNext()) {
+            TrackedPacketEntity entity = iterator.next();
+            if (!entity.isVisibleTo(player)) {
+                iterator.remove();
                 continue;
             }
 
-            World entityWorld = entity.getWorld();
-            if (entityWorld == null) {
+            PacketEntitySpatialIndex.Entry entry = spatialIndex.get(entity);
+            if (entry == null) {
+                // No longer tracked; its owner handles its own viewers from here
+                iterator.remove();
                 continue;
             }
 
-            // Check each online player
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                updateVisibilityForPlayer(entity, entityLocation, entityWorld, player);
+            if (!isInRange(entry, worldId, x, y, z)) {
+                entity.hideFromPlayer(player);
+                iterator.remove();
             }
         }
+
+        return candidateChecks;
+    }
+
+    private boolean isInRange(PacketEntitySpatialIndex.Entry entry, UUID worldId, double x, double y, double z) {
+        // Same world check
+        if (!entry.worldId.equals(worldId)) return false;
+        // Distance check using squared distance for performance
+        double dx = entry.x - x;
+        double dy = entry.y - y;
+        double dz = entry.z - z;
+        double rangeSquared = entry.rangeSquared > 0 ? entry.rangeSquared : trackingRangeSquared;
+        return dx * dx + dy * dy + dz * dz <= rangeSquared;
     }
 
     /**
-     * Updates visibility of a tracked entity for a specific player.
+     * Spatial query radius: the tracker's range, or further if some entity has a larger tracking range.
      */
-    private void updateVisibilityForPlayer(TrackedPacketEntity entity, Location entityLocation,
-                                           World entityWorld, Player player) {
-        boolean shouldBeVisible = false;
+    private double getQueryRange() {
+        return Math.max(getTrackingRange(), spatialIndex.getMaxTrackingRange());
+    }
 
-        // Same world check
-        if (player.getWorld().equals(entityWorld)) {
-            // Distance check using squared distance for performance
-            double distanceSquared = player.getLocation().distanceSquared(entityLocation);
-            shouldBeVisible = distanceSquared <= trackingRangeSquared;
+    private double getTrackingRangeSquared(TrackedPacketEntity entity) {
+        double range = entity.getTrackingRange();
+        return range > 0 ? range * range : trackingRangeSquared;
+    }
+
+    private Set<TrackedPacketEntity> viewsOf(Player player) {
+        return playerViews.computeIfAbsent(player.getUniqueId(), uuid -> ConcurrentHashMap.newKeySet());
+    }
+
+    private void show(TrackedPacketEntity entity, Player player) {
+        entity.showToPlayer(player);
+        viewsOf(player).add(entity);
+    }
+
+    private void hide(TrackedPacketEntity entity, Player player) {
+        entity.hideFromPlayer(player);
+        Set<TrackedPacketEntity> views = playerViews.get(player.getUniqueId());
+        if (views != null) {
+            views.remove(entity);
         }
+    }
 
-        boolean isCurrentlyVisible = entity.isVisibleTo(player);
+    private void recordSweep(long start, int players, int candidateChecks) {
+        lastSweepNanos = System.nanoTime() - start;
+        lastSweepPlayers = players;
+        lastSweepCandidates = candidateChecks;
 
-        if (shouldBeVisible && !isCurrentlyVisible) {
-            // Show to player
-            entity.showToPlayer(player);
-        } else if (!shouldBeVisible && isCurrentlyVisible) {
-            // Hide from player
-            entity.hideFromPlayer(player);
+        if (PacketEntityTuning.logVisibilitySweeps && plugin != null) {
+            plugin.getLogger().info(String.format(
+                    "[PacketEntityTracker] tick %d: visibility sweep %.3f ms, %d tracked, %d players, %d candidates, %d carried over",
+                    tickCounter, lastSweepNanos / 1_000_000.0, trackedEntities.size(), players, candidateChecks,
+                    pendingRefreshes.size() + pendingRemounts.size() + pendingPlayers.size()));
         }
     }
 
     /**
      * Called when a player joins the server.
-     * Checks all tracked entities and shows those in range.
+     * Checks nearby tracked entities and shows those in range.
      *
      * @param player The joining player
      */
     void onPlayerJoin(Player player) {
+        viewerEpoch++;
         // Delay by 1 tick to ensure player is fully loaded
         if (plugin != null) {
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 if (!player.isOnline()) return;
-                updateVisibilityForAllEntities(player);
+                updateVisibilityForPlayer(player);
             }, 1L);
         }
     }
 
+    /**
+     * Called when a player moves or teleports within a world.
+     * Queues a visibility update for the next tick if the player crossed a chunk boundary.
+     *
+     * @param player The moving player
+     * @param from   Where the player moved from
+     * @param to     Where the player is moving to
+     */
+    void onPlayerMove(Player player, Location from, Location to) {
+        if (!PacketEntityTuning.movementTriggeredVisibility || to == null) return;
+        if (from.getBlockX() >> 4 == to.getBlockX() >> 4 && from.getBlockZ() >> 4 == to.getBlockZ() >> 4) return;
+        movedPlayers.add(player.getUniqueId());
+    }
+
     /**
      * Called when a player quits the server.
      * Removes the player from all viewer lists.
@@ -246,11 +672,32 @@ public class PacketEntityTracker {
      * @param player The quitting player
      */
     void onPlayerQuit(Player player) {
-        for (TrackedPacketEntity entity : trackedEntities) {
-            if (entity.isVisibleTo(player)) {
-                entity.hideFromPlayer(player);
+        // The quitting player still resolves during the event, so bump again once they're really gone
+        viewerEpoch++;
+        if (plugin != null) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> viewerEpoch++, 1L);
+        }
+        movedPlayers.remove(player.getUniqueId());
+        Set<TrackedPacketEntity> views = playerViews.remove(player.getUniqueId());
+        if (views != null) {
+            for (TrackedPacketEntity entity : views) {
+                if (entity.isVisibleTo(player)) {
+                    entity.hideFromPlayer(player);
+                }
+            }
+        }
+
+        // Entities shown outside the tracker since the player's last pass are only findable spatially
+        Location location = player.getLocation();
+        candidates.clear();
+        spatialIndex.query(player.getWorld(), location.getX(), location.getY(), location.getZ(),
+                getQueryRange(), candidates);
+        for (PacketEntitySpatialIndex.Entry entry : candidates) {
+            if (entry.entity.isVisibleTo(player)) {
+                entry.entity.hideFromPlayer(player);
             }
         }
+        candidates.clear();
     }
 
     /**
@@ -266,15 +713,11 @@ public class PacketEntityTracker {
                 if (!player.isOnline()) return;
 
                 // First, update visibility for entities the player should see
-                updateVisibilityForAllEntities(player);
-
-                // Also check if this player is a vehicle for any tracked entities
-                // and remount them if needed
-                for (TrackedPacketEntity entity : trackedEntities) {
-                    Entity vehicle = entity.getVehicle();
-                    if (vehicle != null && vehicle.getUniqueId().equals(player.getUniqueId())) {
-                        entity.remount();
-                    }
+                updateVisibilityForPlayer(player);
+
+                // Also remount any tracked entities this player is a vehicle for
+                for (TrackedPacketEntity entity : getAttachedEntities(player.getUniqueId())) {
+                    entity.remount();
                 }
             }, 1L);
         }
@@ -290,30 +733,30 @@ public class PacketEntityTracker {
     void onPlayerChangedWorld(Player player, World fromWorld) {
         // First, handle entities visible to this player (hide old world, show new world)
         // This doesn't need a delay
-        World toWorld = player.getWorld();
-
-        for (TrackedPacketEntity entity : trackedEntities) {
-            World entityWorld = entity.getWorld();
-            if (entityWorld == null) continue;
-
-            // If entity was in old world and visible, hide it
-            if (entityWorld.equals(fromWorld) && entity.isVisibleTo(player)) {
-                entity.hideFromPlayer(player);
+        Set<TrackedPacketEntity> views = playerViews.get(player.getUniqueId());
+        if (views != null) {
+            Iterator<TrackedPacketEntity> iterator = views.iterator();
+            while (iterator.hasNext()) {
+                TrackedPacketEntity entity = iterator.next();
+                World entityWorld = entity.getWorld();
+                if (entityWorld == null) continue;
+
+                // If entity was in old world and visible, hide it
+                if (entityWorld.equals(fromWorld) && entity.isVisibleTo(player)) {
+                    entity.hideFromPlayer(player);
+                    iterator.remove();
+                }
             }
         }
 
-        // Check if this player is a vehicle for any tracked entities
-        // If so, we need to hide from all current viewers and re-show after a delay
-        for (TrackedPacketEntity entity : trackedEntities) {
-            Entity vehicle = entity.getVehicle();
-            if (vehicle != null && vehicle.getUniqueId().equals(player.getUniqueId())) {
-                // The vehicle (player) changed worlds
-                // Hide from ALL current viewers - they were seeing it in old world context
-                for (UUID viewerUUID : new HashSet<>(entity.getCurrentViewers())) {
-                    Player viewer = Bukkit.getPlayer(viewerUUID);
-                    if (viewer != null) {
-                        entity.hideFromPlayer(viewer);
-                    }
+        // Entities attached to this player need to be hidden from all current viewers and re-shown after a delay
+        for (TrackedPacketEntity entity : getAttachedEntities(player.getUniqueId())) {
+            // The vehicle (player) changed worlds
+            // Hide from ALL current viewers - they were seeing it in old world context
+            for (UUID viewerUUID : new HashSet<>(entity.getCurrentViewers())) {
+                Player viewer = Bukkit.getPlayer(viewerUUID);
+                if (viewer != null) {
+                    hide(entity, viewer);
                 }
             }
         }
@@ -324,64 +767,37 @@ public class PacketEntityTracker {
                 if (!player.isOnline()) return;
 
                 World newWorld = player.getWorld();
+                Set<TrackedPacketEntity> attached = getAttachedEntities(player.getUniqueId());
 
-                // Show entities in new world to this player
-                for (TrackedPacketEntity entity : trackedEntities) {
-                    World entityWorld = entity.getWorld();
-                    if (entityWorld == null) continue;
-
-                    if (entityWorld.equals(newWorld)) {
-                        Location entityLocation = entity.getTrackingLocation();
-                        if (entityLocation != null) {
-                            double distanceSquared = player.getLocation().distanceSquared(entityLocation);
-                            if (distanceSquared <= trackingRangeSquared && !entity.isVisibleTo(player)) {
-                                entity.showToPlayer(player);
-                            }
-                        }
-                    }
+                // Attached entities now live in the new world; move them there in the index first
+                for (TrackedPacketEntity entity : attached) {
+                    spatialIndex.update(entity);
                 }
 
+                // Show entities in new world to this player
+                updateVisibilityForPlayer(player);
+
                 // Re-show entities attached to this player to nearby players
-                for (TrackedPacketEntity entity : trackedEntities) {
-                    Entity vehicle = entity.getVehicle();
-                    if (vehicle != null && vehicle.getUniqueId().equals(player.getUniqueId())) {
-                        // Show to players in new world (within range)
-                        for (Player otherPlayer : newWorld.getPlayers()) {
-                            if (!entity.isVisibleTo(otherPlayer)) {
-                                Location entityLocation = entity.getTrackingLocation();
-                                if (entityLocation != null) {
-                                    double distanceSquared = otherPlayer.getLocation().distanceSquared(entityLocation);
-                                    if (distanceSquared <= trackingRangeSquared) {
-                                        entity.showToPlayer(otherPlayer);
-                                    }
+                for (TrackedPacketEntity entity : attached) {
+                    // Show to players in new world (within range)
+                    for (Player otherPlayer : newWorld.getPlayers()) {
+                        if (!entity.isVisibleTo(otherPlayer)) {
+                            Location entityLocation = entity.getTrackingLocation();
+                            if (entityLocation != null) {
+                                double distanceSquared = otherPlayer.getLocation().distanceSquared(entityLocation);
+                                if (distanceSquared <= getTrackingRangeSquared(entity)) {
+                                    show(entity, otherPlayer);
                                 }
                             }
                         }
-                        // Remount after showing
-                        entity.remount();
                     }
+                    // Remount after showing
+                    entity.remount();
                 }
             }, 1L);
         }
     }
 
-    /**
-     * Updates visibility of all tracked entities for a specific player.
-     */
-    private void updateVisibilityForAllEntities(Player player) {
-        for (TrackedPacketEntity entity : trackedEntities) {
-            if (!entity.isValid()) continue;
-
-            Location entityLocation = entity.getTrackingLocation();
-            if (entityLocation == null) continue;
-
-            World entityWorld = entity.getWorld();
-            if (entityWorld == null) continue;
-
-            updateVisibilityForPlayer(entity, entityLocation, entityWorld, player);
-        }
-    }
-
     /**
      * Updates the tracking range from server settings.
      */
@@ -410,4 +826,44 @@ public class PacketEntityTracker {
     public void setTrackingRange(double range) {
         this.trackingRangeSquared = range * range;
     }
+
+    /**
+     * Gets the level-of-detail tier a viewer falls into for a tracked entity, based on its last indexed position.
+     *
+     * @param entity The tracked entity
+     * @param player The viewer
+     * @return The tier, or {@link PacketEntityLod.Tier#FULL} if the entity has no level of detail or isn't indexed
+     */
+    public PacketEntityLod.Tier getLodTier(TrackedPacketEntity entity, Player player) {
+        PacketEntityLod lod = entity.getLod();
+        if (lod == null || !lod.isEnabled()) return PacketEntityLod.Tier.FULL;
+        PacketEntitySpatialIndex.Entry entry = spatialIndex.get(entity);
+        if (entry == null || !entry.worldId.equals(player.getWorld().getUID())) return PacketEntityLod.Tier.FULL;
+        Location location = player.getLocation();
+        double dx = entry.x - location.getX();
+        double dy = entry.y - location.getY();
+        double dz = entry.z - location.getZ();
+        return lod.tierFor(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Gets how long the last visibility sweep took, in nanoseconds.
+     */
+    public long getLastSweepNanos() {
+        return lastSweepNanos;
+    }
+
+    /**
+     * Gets how many players the last visibility sweep processed.
+     */
+    public int getLastSweepPlayers() {
+        return lastSweepPlayers;
+    }
+
+    /**
+     * Gets how many entity distance checks the last visibility sweep performed.
+     */
+    public int getLastSweepCandidates() {
+        return lastSweepCandidates;
+    }
 }
@@ -25,4 +25,46 @@ public final class PacketEntityTuning {
      * rollback).</p>
      */
     public static volatile boolean useDeltaMetadataUpdates = true;
+
+    /**
+     * When true, {@link PacketEntityTracker} logs the cost of every tick's visibility work
+     * (time spent, tracked entities, players processed, distance checks). Off by default since it
+     * logs once per sweep; meant for profiling dense areas.
+     */
+    public static volatile boolean logVisibilitySweeps = false;
+
+    /**
+     * When true (default), {@link PacketEntityTracker} spreads its once-a-second visibility sweep and
+     * two-second remount sweep across every tick: players and entities are hashed into slots and each tick
+     * only processes its own slot. Set to false to go back to doing all the work on a single tick.
+     */
+    public static volatile boolean staggerVisibilitySweeps = true;
+
+    /**
+     * Per-tick time budget, in milliseconds, for staggered visibility work. Work that doesn't fit is carried
+     * over to the next tick. Only used when {@link #staggerVisibilitySweeps} is on.
+     */
+    public static volatile double visibilityTickBudgetMillis = 2.0;
+
+    /**
+     * When true (default), {@link PacketEntityTracker} re-evaluates visibility as soon as a player crosses a
+     * chunk boundary or a tracked entity changes chunk section, instead of waiting for the next sweep. The
+     * per-player sweep then only runs every 5 seconds as a safety net. Set to false to rely on the
+     * once-a-second sweep alone.
+     */
+    public static volatile boolean movementTriggeredVisibility = true;
+
+    /**
+     * When true, packet entities queue their packets in {@link PacketOutbox} and each player gets one bundle
+     * per tick instead of one connection write per packet (or per {@link AbstractPacketBundle}). Off by default
+     * so it can be A/B tested; only NMS modules that register a {@link PacketOutbox.Sink} honor it.
+     */
+    public static volatile boolean coalescePacketsPerTick = false;
+
+    /**
+     * When true (default), a {@link FakeText} shows every Java viewer the same TextDisplay packet entity, so a
+     * text change mutates one entity and builds one metadata packet no matter how many players see it. Bedrock
+     * viewers always get their own ArmorStand. Set to false to go back to one TextDisplay per viewer.
+     */
+    public static volatile boolean shareFakeTextEntities = true;
 }
@@ -32,4 +32,14 @@ public interface PacketModelEntity extends PacketEntityInterface {
     void setHorseLeatherArmorColor(Color color);
 
     boolean hasViewers();
+
+    /**
+     * Sets the distance-based level of detail for this entity's per-tick location, rotation and scale updates.
+     * Distant viewers then get less frequent (or position-only) updates.
+     *
+     * @param lod The level of detail, {@link PacketEntityLod#NONE} for full-rate updates to everyone
+     */
+    default void setLod(PacketEntityLod lod) {
+        // Default no-op for backwards compatibility
+    }
 }
@@ -0,0 +1,141 @@
+package com.magmaguy.easyminecraftgoals.internal;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tick-scoped outbound packet queue shared by every packet entity. Instead of each entity (and each
+ * {@link AbstractPacketBundle}) writing to the player's connection on its own, packets are queued per player
+ * and flushed once at the end of the tick, so each player gets a single bundle (one channel write and flush)
+ * per tick no matter how many packet entities they can see.
+ *
+ * <p>The NMS module registers a {@link Sink} at adapter init via {@link #setSink}, which turns one player's
+ * queued packets into bundle packets and sends them. Queuing is only used on the main thread, while
+ * {@link PacketEntityTuning#coalescePacketsPerTick} is on and a sink is registered; {@link #enqueue} returns
+ * false otherwise and the caller sends directly as before.</p>
+ *
+ * <p>On Paper the queue is flushed from {@code ServerTickEndEvent}. On Spigot it falls back to a repeating
+ * task, so packets queued after that task ran go out with the next tick's flush.</p>
+ */
+public final class PacketOutbox {
+
+    /** Sends one player's queued packets, in order, as few bundles as the protocol allows. */
+    public interface Sink {
+        void send(Player player, List<Object> packets);
+    }
+
+    private static final String PAPER_TICK_END_EVENT = "com.destroystokyo.paper.event.server.ServerTickEndEvent";
+
+    private static volatile Sink sink;
+    private static final Map<UUID, PlayerQueue> queues = new HashMap<>();
+    private static Listener tickEndListener;
+    private static BukkitTask flushTask;
+
+    private PacketOutbox() {
+    }
+
+    private static final class PlayerQueue {
+        private final Player player;
+        private final List<Object> packets = new ArrayList<>();
+
+        private PlayerQueue(Player player) {
+            this.player = player;
+        }
+    }
+
+    public static void setSink(Sink newSink) {
+        sink = newSink;
+    }
+
+    /**
+     * Hooks the end-of-tick flush. Called once by {@code NMSManager} after the adapter is loaded.
+     */
+    public static void initialize(Plugin plugin) {
+        if (tickEndListener != null || flushTask != null) return;
+
+        try {
+            Class<? extends Event> tickEndEvent = Class.forName(PAPER_TICK_END_EVENT).asSubclass(Event.class);
+            tickEndListener = new Listener() {
+            };
+            Bukkit.getPluginManager().registerEvent(tickEndEvent, tickEndListener, EventPriority.MONITOR,
+                    (listener, event) -> flush(), plugin);
+        } catch (ClassNotFoundException e) {
+            // Spigot - no tick end event, flush from the scheduler instead
+            tickEndListener = null;
+            flushTask = Bukkit.getScheduler().runTaskTimer(plugin, PacketOutbox::flush, 1L, 1L);
+        }
+    }
+
+    /**
+     * Flushes anything still queued and unhooks the end-of-tick flush.
+     */
+    public static void shutdown() {
+        flush();
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if (tickEndListener != null) {
+            HandlerList.unregisterAll(tickEndListener);
+            tickEndListener = null;
+        }
+    }
+
+    /**
+     * @return true if {@link #enqueue} would currently queue packets rather than refuse them
+     */
+    public static boolean isActive() {
+        return PacketEntityTuning.coalescePacketsPerTick && sink != null && Bukkit.isPrimaryThread();
+    }
+
+    /**
+     * Queues a packet for the player's end-of-tick bundle.
+     *
+     * @return false if coalescing is off, no sink is registered or this isn't the main thread; the caller must
+     * then send the packet itself
+     */
+    public static boolean enqueue(Player player, Object packet) {
+        if (!isActive()) return false;
+        if (player == null || packet == null) return true;
+
+        queues.computeIfAbsent(player.getUniqueId(), uuid -> new PlayerQueue(player)).packets.add(packet);
+        return true;
+    }
+
+    /**
+     * Sends every player's queued packets. Players with nothing queued this tick are dropped from the map.
+     */
+    public static void flush() {
+        if (queues.isEmpty()) return;
+
+        Sink currentSink = sink;
+        Iterator<PlayerQueue> iterator = queues.values().iterator();
+        while (iterator.hasNext()) {
+            PlayerQueue queue = iterator.next();
+            if (queue.packets.isEmpty() || !queue.player.isOnline() || currentSink == null) {
+                iterator.remove();
+                continue;
+            }
+            try {
+                currentSink.send(queue.player, queue.packets);
+            } catch (Throwable t) {
+                // A failing connection must not block every other player's packets
+                iterator.remove();
+            }
+            queue.packets.clear();
+        }
+    }
+}
@@ -87,4 +87,23 @@ public interface TrackedPacketEntity {
      * This is used after world changes, respawns, etc.
      */
     void remount();
+
+    /**
+     * Gets how far away, in blocks, players can see this entity.
+     * Large entities (e.g. boss models) can return more than the server's view distance to stay visible from afar.
+     *
+     * @return The tracking range, or 0 to use the tracker's range
+     */
+    default double getTrackingRange() {
+        return 0;
+    }
+
+    /**
+     * Gets the distance-based level of detail used when sending this entity's updates to its viewers.
+     *
+     * @return The level of detail, {@link PacketEntityLod#NONE} for full-rate updates to everyone
+     */
+    default PacketEntityLod getLod() {
+        return PacketEntityLod.NONE;
+    }
 }
@@ -0,0 +1,51 @@
+package com.magmaguy.easyminecraftgoals.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PacketEntityLodTest {
+    @Test
+    void picksFirstTierCoveringTheDistance() {
+        PacketEntityLod lod = PacketEntityLod.of(
+                new PacketEntityLod.Tier(48, 4, true),
+                new PacketEntityLod.Tier(24, 1, true),
+                new PacketEntityLod.Tier(96, 8, false));
+
+        assertEquals(24, lod.tierFor(10 * 10).maxDistance());
+        assertEquals(24, lod.tierFor(24 * 24).maxDistance());
+        assertEquals(48, lod.tierFor(30 * 30).maxDistance());
+        assertEquals(96, lod.tierFor(90 * 90).maxDistance());
+        // Past the last tier still uses the last tier
+        assertEquals(96, lod.tierFor(500 * 500).maxDistance());
+    }
+
+    @Test
+    void tiersAreDueOnTheirInterval() {
+        PacketEntityLod.Tier tier = new PacketEntityLod.Tier(48, 4, true);
+
+        assertTrue(tier.isDue(0));
+        assertFalse(tier.isDue(1));
+        assertFalse(tier.isDue(3));
+        assertTrue(tier.isDue(8));
+        assertTrue(PacketEntityLod.Tier.FULL.isDue(7));
+    }
+
+    @Test
+    void fullRateLevelsOfDetailAreDisabled() {
+        assertFalse(PacketEntityLod.NONE.isEnabled());
+        assertSame(PacketEntityLod.Tier.FULL, PacketEntityLod.NONE.tierFor(1_000_000));
+        assertFalse(PacketEntityLod.of(new PacketEntityLod.Tier(32, 1, true)).isEnabled());
+        assertTrue(PacketEntityLod.DEFAULT.isEnabled());
+    }
+
+    @Test
+    void rejectsInvalidTiers() {
+        assertThrows(IllegalArgumentException.class, () -> new PacketEntityLod.Tier(0, 1, true));
+        assertThrows(IllegalArgumentException.class, () -> new PacketEntityLod.Tier(24, 0, true));
+    }
+}
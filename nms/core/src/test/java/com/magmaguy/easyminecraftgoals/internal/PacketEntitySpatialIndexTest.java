@@ -0,0 +1,87 @@
+package com.magmaguy.easyminecraftgoals.internal;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PacketEntitySpatialIndexTest {
+
+    private final World world = world();
+
+    @Test
+    void maxTrackingRangeShrinksWhenTheLargestRangeGoes() {
+        PacketEntitySpatialIndex index = new PacketEntitySpatialIndex();
+        double[] bossRange = {256};
+        TrackedPacketEntity boss = entity(bossRange);
+        TrackedPacketEntity mob = entity(new double[]{64});
+        TrackedPacketEntity otherMob = entity(new double[]{64});
+        TrackedPacketEntity plain = entity(new double[]{0});
+
+        index.update(boss);
+        index.update(mob);
+        index.update(otherMob);
+        index.update(plain);
+        assertEquals(256, index.getMaxTrackingRange());
+
+        index.remove(boss);
+        assertEquals(64, index.getMaxTrackingRange());
+
+        // Two entities share 64, so removing one keeps it
+        index.remove(mob);
+        assertEquals(64, index.getMaxTrackingRange());
+        index.remove(otherMob);
+        assertEquals(0, index.getMaxTrackingRange());
+    }
+
+    @Test
+    void maxTrackingRangeFollowsARangeChange() {
+        PacketEntitySpatialIndex index = new PacketEntitySpatialIndex();
+        double[] range = {200};
+        TrackedPacketEntity entity = entity(range);
+        index.update(entity);
+        assertEquals(200, index.getMaxTrackingRange());
+
+        range[0] = 80;
+        index.update(entity);
+        assertEquals(80, index.getMaxTrackingRange());
+        assertEquals(80 * 80, index.get(entity).rangeSquared);
+
+        range[0] = 0;
+        index.update(entity);
+        assertEquals(0, index.getMaxTrackingRange());
+
+        range[0] = 120;
+        index.update(entity);
+        index.clear();
+        assertEquals(0, index.getMaxTrackingRange());
+    }
+
+    private TrackedPacketEntity entity(double[] range) {
+        Location location = new Location(world, 10, 64, -5);
+        return (TrackedPacketEntity) Proxy.newProxyInstance(TrackedPacketEntity.class.getClassLoader(),
+                new Class<?>[]{TrackedPacketEntity.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getWorld" -> world;
+                    case "getTrackingLocation" -> location;
+                    case "getTrackingRange" -> range[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    private static World world() {
+        UUID uid = UUID.randomUUID();
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUID" -> uid;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+}
@@ -68,7 +68,7 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
     @Override public void displayTo(UUID uuid) { Player player = Bukkit.getPlayer(uuid); if (player != null) displayTo(player); }
     @Override public void hideFrom(Player player) { if (player != null) hideFrom(player.getUniqueId()); }
     @Override public void hideFrom(UUID uuid) { ItemDisplayPacketEntity entity = playerEntities.remove(uuid); if (entity != null) entity.remove(); }
-    @Override public void teleport(Location location) { this.location = location.clone(); for (ItemDisplayPacketEntity entity : playerEntities.values()) entity.teleport(location); }
+    @Override public void teleport(Location location) { this.location = location.clone(); for (ItemDisplayPacketEntity entity : playerEntities.values()) entity.teleport(location); if (autoTracked) PacketEntityTracker.getInstance().move(this); }
     @Override public Location getLocation() { return location.clone(); }
     @Override public void remove() { for (ItemDisplayPacketEntity entity : playerEntities.values()) entity.remove(); playerEntities.clear(); removeCallbacks.forEach(Runnable::run); valid = false; }
     @Override public boolean hasViewers() { return !playerEntities.isEmpty(); }
@@ -132,7 +132,7 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
     }
 
     public void mountTo(Entity vehicle) { if (vehicle == null) return; this.currentVehicleId = vehicle.getEntityId(); for (ItemDisplayPacketEntity entity : playerEntities.values()) entity.mountTo(currentVehicleId); }
-    public void dismount() { if (currentVehicleId != -1) { for (ItemDisplayPacketEntity entity : playerEntities.values()) entity.dismount(); currentVehicleId = -1; vehicleEntity = null; } }
+    public void dismount() { if (currentVehicleId != -1) { for (ItemDisplayPacketEntity entity : playerEntities.values()) entity.dismount(); currentVehicleId = -1; vehicleEntity = null; if (autoTracked) PacketEntityTracker.getInstance().vehicleChanged(this); } }
     public void addRemoveCallback(Runnable callback) { removeCallbacks.add(callback); }
 
     private ItemDisplayPacketEntity createItemDisplayEntity(Location location) {
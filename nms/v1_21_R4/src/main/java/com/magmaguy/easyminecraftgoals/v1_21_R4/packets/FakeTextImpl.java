@@ -83,7 +83,7 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
     @Override public void displayTo(UUID uuid) { Player p = Bukkit.getPlayer(uuid); if (p != null) displayTo(p); }
     @Override public void hideFrom(Player player) { if (player != null) hideFrom(player.getUniqueId()); }
     @Override public void hideFrom(UUID uuid) { PacketEntityInterface e = playerEntities.remove(uuid); if (e != null) e.remove(); bedrockPlayers.remove(uuid); }
-    @Override public void teleport(Location loc) { this.location = loc.clone(); for (PacketEntityInterface e : playerEntities.values()) e.teleport(loc); }
+    @Override public void teleport(Location loc) { this.location = loc.clone(); for (PacketEntityInterface e : playerEntities.values()) e.teleport(loc); if (autoTracked) PacketEntityTracker.getInstance().move(this); }
     @Override public Location getLocation() { return location.clone(); }
     @Override public void remove() { for (PacketEntityInterface e : playerEntities.values()) e.remove(); playerEntities.clear(); bedrockPlayers.clear(); removeCallbacks.forEach(Runnable::run); }
     @Override public boolean hasViewers() { return !playerEntities.isEmpty(); }
@@ -97,7 +97,7 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
     @Override public void setBillboard(org.bukkit.entity.Display.Billboard billboard) { for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) { if (bedrockPlayers.contains(entry.getKey())) continue; TextDisplay td = entry.getValue().getBukkitEntity(); td.setBillboard(billboard); entry.getValue().syncMetadata(); } }
 
     @Override public void mountTo(Entity vehicle) { if (vehicle == null) return; this.currentVehicleId = vehicle.getEntityId(); for (PacketEntityInterface entity : playerEntities.values()) entity.mountTo(currentVehicleId); }
-    @Override public void dismount() { if (currentVehicleId != -1) { for (PacketEntityInterface entity : playerEntities.values()) entity.dismount(); currentVehicleId = -1; vehicleEntity = null; } }
+    @Override public void dismount() { if (currentVehicleId != -1) { for (PacketEntityInterface entity : playerEntities.values()) entity.dismount(); currentVehicleId = -1; vehicleEntity = null; if (autoTracked) PacketEntityTracker.getInstance().vehicleChanged(this); } }
 
     @Override
     public void attachTo(Entity vehicle) {
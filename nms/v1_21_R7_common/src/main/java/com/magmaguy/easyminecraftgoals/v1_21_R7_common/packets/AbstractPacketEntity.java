@@ -272,31 +272,56 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
 
     protected Packet<?> generateMountPacket(int vehicleEntityId, int... passengerIds) {
         // Create packet using our entity (it has no passengers so fields will be wrong)
-        // Then use reflection to fix the vehicle ID and passenger array
+        // Then overwrite the vehicle ID and passenger array through the setters cached in MountPacketFields
         try {
             ClientboundSetPassengersPacket packet = new ClientboundSetPassengersPacket(entity);
+            MountPacketFields.VEHICLE.invokeExact(packet, vehicleEntityId);
+            MountPacketFields.PASSENGERS.invokeExact(packet, MountPacketFields.PASSENGERS_IS_ARRAY
+                    ? (Object) passengerIds
+                    : (Object) it.unimi.dsi.fastutil.ints.IntList.of(passengerIds));
+            return packet;
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to create mount packet", e);
+        }
+    }
 
-            // The packet has two fields: vehicle (int) and passengers (IntList)
-            // Field names may vary by mapping - try common names
-            for (java.lang.reflect.Field field : ClientboundSetPassengersPacket.class.getDeclaredFields()) {
-                field.setAccessible(true);
-                if (field.getType() == int.class) {
-                    // This is the vehicle ID field
-                    field.setInt(packet, vehicleEntityId);
-                } else if (field.getType().getName().contains("IntList") || field.getType() == int[].class) {
-                    // This is the passengers field
-                    if (field.getType() == int[].class) {
-                        field.set(packet, passengerIds);
-                    } else {
-                        // It's an IntList
-                        field.set(packet, it.unimi.dsi.fastutil.ints.IntList.of(passengerIds));
+    /**
+     * Setters for the vehicle and passenger fields of {@link ClientboundSetPassengersPacket}, looked up once
+     * instead of scanning the declared fields on every mount. The packet has two fields: vehicle (int) and
+     * passengers (IntList or int[]); field names may vary by mapping, so they're matched by type.
+     */
+    private static final class MountPacketFields {
+        private static final java.lang.invoke.MethodHandle VEHICLE;
+        private static final java.lang.invoke.MethodHandle PASSENGERS;
+        private static final boolean PASSENGERS_IS_ARRAY;
+
+        static {
+            java.lang.invoke.MethodHandle vehicle = null;
+            java.lang.invoke.MethodHandle passengers = null;
+            boolean passengersIsArray = false;
+            try {
+                java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.lookup();
+                for (java.lang.reflect.Field field : ClientboundSetPassengersPacket.class.getDeclaredFields()) {
+                    if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) continue;
+                    if (field.getType() == int.class) {
+                        field.setAccessible(true);
+                        vehicle = lookup.unreflectSetter(field);
+                    } else if (field.getType() == int[].class || field.getType().getName().contains("IntList")) {
+                        field.setAccessible(true);
+                        passengersIsArray = field.getType() == int[].class;
+                        passengers = lookup.unreflectSetter(field).asType(java.lang.invoke.MethodType.methodType(
+                                void.class, ClientboundSetPassengersPacket.class, Object.class));
                     }
                 }
+            } catch (IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
             }
-
-            return packet;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create mount packet", e);
+            if (vehicle == null || passengers == null) {
+                throw new ExceptionInInitializerError("ClientboundSetPassengersPacket fields not found");
+            }
+            VEHICLE = vehicle;
+            PASSENGERS = passengers;
+            PASSENGERS_IS_ARRAY = passengersIsArray;
         }
     }
 
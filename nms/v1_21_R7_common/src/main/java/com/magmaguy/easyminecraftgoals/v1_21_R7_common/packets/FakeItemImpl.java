@@ -119,6 +119,9 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
         for (ItemDisplayPacketEntity entity : playerEntities.values()) {
             entity.teleport(location);
         }
+        if (autoTracked) {
+            PacketEntityTracker.getInstance().move(this);
+        }
     }
 
     @Override
@@ -334,6 +337,9 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
             }
             currentVehicleId = -1;
             vehicleEntity = null;
+            if (autoTracked) {
+                PacketEntityTracker.getInstance().vehicleChanged(this);
+            }
         }
     }
 
@@ -147,6 +147,9 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
         for (PacketEntityInterface entity : playerEntities.values()) {
             entity.teleport(location);
         }
+        if (autoTracked) {
+            PacketEntityTracker.getInstance().move(this);
+        }
     }
 
     @Override
@@ -276,6 +279,9 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
             }
             currentVehicleId = -1;
             vehicleEntity = null;
+            if (autoTracked) {
+                PacketEntityTracker.getInstance().vehicleChanged(this);
+            }
         }
     }
 
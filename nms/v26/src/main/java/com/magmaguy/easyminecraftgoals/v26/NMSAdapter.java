@@ -46,6 +46,9 @@ public class NMSAdapter extends com.magmaguy.easyminecraftgoals.NMSAdapter {
         // fails at runtime it returns -1 and the sampler falls back to estimating.
         com.magmaguy.easyminecraftgoals.internal.PacketSizeEstimator.setImpl(
                 new com.magmaguy.easyminecraftgoals.v26.packets.NmsPacketSizeFunction());
+        // Let the shared per-tick outbox turn each player's queued packets into bundles.
+        com.magmaguy.easyminecraftgoals.internal.PacketOutbox.setSink(
+                new com.magmaguy.easyminecraftgoals.v26.packets.PacketOutboxSink());
     }
 
     private PacketInteractionListener packetInteractionListener;
@@ -3,6 +3,9 @@ package com.magmaguy.easyminecraftgoals.v26.packets;
 import com.google.common.collect.Sets;
 import com.magmaguy.easyminecraftgoals.internal.AbstractPacketBundle;
 import com.magmaguy.easyminecraftgoals.internal.PacketEntityInterface;
+import com.magmaguy.easyminecraftgoals.internal.PacketEntityTracker;
+import com.magmaguy.easyminecraftgoals.internal.PacketEntityTuning;
+import com.magmaguy.easyminecraftgoals.internal.PacketOutbox;
 import com.magmaguy.easyminecraftgoals.v26.CraftBukkitBridge;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.*;
@@ -17,6 +20,7 @@ import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class AbstractPacketEntity<T extends Entity> implements PacketEntityInterface {
     protected final T entity;
@@ -25,6 +29,12 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
     protected boolean visible = true;
     private final int EntityID;
     private int currentVehicleId = -1;
+    // Bumped on every viewer change; the snapshot below is only reused while it matches
+    private final AtomicInteger viewersVersion = new AtomicInteger();
+    private volatile ViewerSnapshot viewerSnapshot;
+
+    private record ViewerSnapshot(int version, int epoch, List<Player> players) {
+    }
 
     protected AbstractPacketEntity(Location location) {
         this.entity = createEntity(location);
@@ -39,14 +49,27 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
         EntityID = entity.getId();
     }
 
+    /**
+     * Resolved viewers as an immutable list. The list is cached and only rebuilt when the viewer set
+     * changes or a player joins or quits, so per-tick callers don't allocate or look up players.
+     */
     public List<Player> getViewersAsPlayers() {
-        List<Player> players = new ArrayList<>();
+        ViewerSnapshot snapshot = viewerSnapshot;
+        int version = viewersVersion.get();
+        int epoch = PacketEntityTracker.getViewerEpoch();
+        if (snapshot != null && snapshot.version() == version && snapshot.epoch() == epoch) {
+            return snapshot.players();
+        }
+
+        List<Player> players = new ArrayList<>(viewers.size());
         for (UUID viewer : viewers) {
             Player player = Bukkit.getPlayer(viewer);
             if (player != null) {
                 players.add(player);
             }
         }
+        players = Collections.unmodifiableList(players);
+        viewerSnapshot = new ViewerSnapshot(version, epoch, players);
         return players;
     }
 
@@ -59,12 +82,12 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
 
     @Override
     public void addViewer(UUID player) {
-        viewers.add(player);
+        if (viewers.add(player)) viewersVersion.incrementAndGet();
     }
 
     @Override
     public void removeViewer(UUID player) {
-        viewers.remove(player);
+        if (viewers.remove(player)) viewersVersion.incrementAndGet();
     }
 
     public void addRemoveCallback(Runnable callback) {
@@ -90,6 +113,20 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
         sendPacketToAll(createEntityDataPacket());
     }
 
+    /**
+     * Setters on the NMS entity data only mark a value dirty when it actually changes, so re-applying
+     * the same text, opacity or scale produces no packet at all. Falls back to a full sync when
+     * {@link PacketEntityTuning#useDeltaMetadataUpdates} is off.
+     */
+    @Override
+    public void syncDirtyMetadata() {
+        if (!PacketEntityTuning.useDeltaMetadataUpdates) {
+            syncMetadata();
+            return;
+        }
+        sendPacketToAll(createDirtyEntityDataPacket());
+    }
+
     public Location getLocation() {
         return new Location(CraftBukkitBridge.getBukkitWorld(entity.level()), entity.getX(), entity.getY(), entity.getZ(), entity.getYRot(), entity.getXRot());
     }
@@ -337,6 +374,19 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
         sendPacketToAll(generateMountPacket(vehicleEntityId, EntityID));
     }
 
+    int getCurrentVehicleId() {
+        return currentVehicleId;
+    }
+
+    /**
+     * Sends the current mount to one player only, for viewers added to an already mounted entity.
+     */
+    void sendMountPacketTo(Player player) {
+        if (currentVehicleId != -1) {
+            sendPacketToPlayer(player, generateMountPacket(currentVehicleId, EntityID));
+        }
+    }
+
     @Override
     public void dismount() {
         if (currentVehicleId != -1) {
@@ -348,31 +398,56 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
 
     protected Packet<?> generateMountPacket(int vehicleEntityId, int... passengerIds) {
         // Create packet using our entity (it has no passengers so fields will be wrong)
-        // Then use reflection to fix the vehicle ID and passenger array
+        // Then overwrite the vehicle ID and passenger array through the setters cached in MountPacketFields
         try {
             ClientboundSetPassengersPacket packet = new ClientboundSetPassengersPacket(entity);
+            MountPacketFields.VEHICLE.invokeExact(packet, vehicleEntityId);
+            MountPacketFields.PASSENGERS.invokeExact(packet, MountPacketFields.PASSENGERS_IS_ARRAY
+                    ? (Object) passengerIds
+                    : (Object) it.unimi.dsi.fastutil.ints.IntList.of(passengerIds));
+            return packet;
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to create mount packet", e);
+        }
+    }
 
-            // The packet has two fields: vehicle (int) and passengers (IntList)
-            // Field names may vary by mapping - try common names
-            for (java.lang.reflect.Field field : ClientboundSetPassengersPacket.class.getDeclaredFields()) {
-                field.setAccessible(true);
-                if (field.getType() == int.class) {
-                    // This is the vehicle ID field
-                    field.setInt(packet, vehicleEntityId);
-                } else if (field.getType().getName().contains("IntList") || field.getType() == int[].class) {
-                    // This is the passengers field
-                    if (field.getType() == int[].class) {
-                        field.set(packet, passengerIds);
-                    } else {
-                        // It's an IntList
-                        field.set(packet, it.unimi.dsi.fastutil.ints.IntList.of(passengerIds));
+    /**
+     * Setters for the vehicle and passenger fields of {@link ClientboundSetPassengersPacket}, looked up once
+     * instead of scanning the declared fields on every mount. The packet has two fields: vehicle (int) and
+     * passengers (IntList or int[]); field names may vary by mapping, so they're matched by type.
+     */
+    private static final class MountPacketFields {
+        private static final java.lang.invoke.MethodHandle VEHICLE;
+        private static final java.lang.invoke.MethodHandle PASSENGERS;
+        private static final boolean PASSENGERS_IS_ARRAY;
+
+        static {
+            java.lang.invoke.MethodHandle vehicle = null;
+            java.lang.invoke.MethodHandle passengers = null;
+            boolean passengersIsArray = false;
+            try {
+                java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.lookup();
+                for (java.lang.reflect.Field field : ClientboundSetPassengersPacket.class.getDeclaredFields()) {
+                    if (java.lang.reflect.Modifier.isStatic(field.getModifiers())) continue;
+                    if (field.getType() == int.class) {
+                        field.setAccessible(true);
+                        vehicle = lookup.unreflectSetter(field);
+                    } else if (field.getType() == int[].class || field.getType().getName().contains("IntList")) {
+                        field.setAccessible(true);
+                        passengersIsArray = field.getType() == int[].class;
+                        passengers = lookup.unreflectSetter(field).asType(java.lang.invoke.MethodType.methodType(
+                                void.class, ClientboundSetPassengersPacket.class, Object.class));
                     }
                 }
+            } catch (IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
             }
-
-            return packet;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create mount packet", e);
+            if (vehicle == null || passengers == null) {
+                throw new ExceptionInInitializerError("ClientboundSetPassengersPacket fields not found");
+            }
+            VEHICLE = vehicle;
+            PASSENGERS = passengers;
+            PASSENGERS_IS_ARRAY = passengersIsArray;
         }
     }
 
@@ -388,6 +463,10 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
             if (nmsPacket == null) {
                 continue;
             }
+            // Coalescing on: ride the player's end-of-tick bundle instead of a write per packet
+            if (PacketOutbox.enqueue(player, nmsPacket)) {
+                continue;
+            }
             nmsPlayer.connection.send(nmsPacket);
         }
     }
@@ -399,14 +478,17 @@ public abstract class AbstractPacketEntity<T extends Entity> implements PacketEn
     protected void sendPacketToAll(Packet<?> nmsPacket) {
         if (nmsPacket == null) return;
 
-        int delivered = 0;
-        for (UUID viewer : viewers) {
-            Player player = Bukkit.getPlayer(viewer);
-            if (player == null) {
-                viewers.remove(viewer);
-                continue;
+        List<Player> players = getViewersAsPlayers();
+        // Drop viewers that no longer resolve, as the snapshot skipped them
+        if (players.size() != viewers.size()) {
+            for (UUID viewer : viewers) {
+                if (Bukkit.getPlayer(viewer) == null) removeViewer(viewer);
             }
-            sendPacketToPlayer(player, nmsPacket);
+        }
+
+        int delivered = 0;
+        for (int i = 0; i < players.size(); i++) {
+            sendPacketToPlayer(players.get(i), nmsPacket);
             delivered++;
         }
         // Report this unbundled broadcast so the FMM packet sampler can account for direct sends
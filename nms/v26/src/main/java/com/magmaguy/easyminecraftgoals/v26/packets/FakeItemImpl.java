@@ -50,11 +50,13 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
 
     @Override
     public void setItemStack(ItemStack itemStack) {
+        // NMS item stacks never compare equal, so catch unchanged items here before they get resent
+        if (Objects.equals(itemStack, currentItemStack)) return;
         this.currentItemStack = itemStack != null ? itemStack.clone() : null;
         // Update all existing entities
         for (ItemDisplayPacketEntity entity : playerEntities.values()) {
             applyItemStack(entity);
-            entity.syncMetadata();
+            entity.syncDirtyMetadata();
         }
     }
 
@@ -118,6 +120,9 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
         for (ItemDisplayPacketEntity entity : playerEntities.values()) {
             entity.teleport(location);
         }
+        if (autoTracked) {
+            PacketEntityTracker.getInstance().move(this);
+        }
     }
 
     @Override
@@ -151,7 +156,7 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
                     new org.joml.Vector3f(scale, scale, scale),
                     transform.getRightRotation()
             ));
-            entity.syncMetadata();
+            entity.syncDirtyMetadata();
         }
     }
 
@@ -160,7 +165,7 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
         for (ItemDisplayPacketEntity entity : playerEntities.values()) {
             ItemDisplay itemDisplay = entity.getBukkitEntity();
             itemDisplay.setBillboard(billboard);
-            entity.syncMetadata();
+            entity.syncDirtyMetadata();
         }
     }
 
@@ -169,7 +174,7 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
         for (ItemDisplayPacketEntity entity : playerEntities.values()) {
             Display.ItemDisplay nmsEntity = entity.getNMSEntity();
             nmsEntity.setGlowingTag(glowing);
-            entity.syncMetadata();
+            entity.syncDirtyMetadata();
         }
     }
 
@@ -182,7 +187,7 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
             } else {
                 nmsEntity.setCustomName(null);
             }
-            entity.syncMetadata();
+            entity.syncDirtyMetadata();
         }
     }
 
@@ -191,7 +196,7 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
         for (ItemDisplayPacketEntity entity : playerEntities.values()) {
             Display.ItemDisplay nmsEntity = entity.getNMSEntity();
             nmsEntity.setCustomNameVisible(visible);
-            entity.syncMetadata();
+            entity.syncDirtyMetadata();
         }
     }
 
@@ -211,7 +216,7 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
                     transform.getScale(),
                     yawRotation
             ));
-            entity.syncMetadata();
+            entity.syncDirtyMetadata();
         }
     }
 
@@ -333,6 +338,9 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
             }
             currentVehicleId = -1;
             vehicleEntity = null;
+            if (autoTracked) {
+                PacketEntityTracker.getInstance().vehicleChanged(this);
+            }
         }
     }
 
@@ -384,7 +392,8 @@ public class FakeItemImpl implements FakeItem, TrackedPacketEntity {
             entity.getNMSEntity().setCustomNameVisible(settings.isCustomNameVisible());
         }
 
-        entity.syncMetadata();
+        // No viewers yet - this just clears the dirty flags left by the setup above
+        entity.syncDirtyMetadata();
         return entity;
     }
 
@@ -3,6 +3,7 @@ package com.magmaguy.easyminecraftgoals.v26.packets;
 import com.magmaguy.easyminecraftgoals.internal.FakeText;
 import com.magmaguy.easyminecraftgoals.internal.FakeTextSettings;
 import com.magmaguy.easyminecraftgoals.internal.PacketEntityInterface;
+import com.magmaguy.easyminecraftgoals.internal.PacketEntityTuning;
 import com.magmaguy.easyminecraftgoals.internal.PacketEntityTracker;
 import com.magmaguy.easyminecraftgoals.internal.TrackedPacketEntity;
 import com.magmaguy.easyminecraftgoals.thirdparty.BedrockChecker;
@@ -20,10 +21,14 @@ import org.bukkit.entity.TextDisplay;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * FakeText implementation that uses TextDisplay for Java Edition players
  * and ArmorStand for Bedrock Edition players.
+ * Java players share a single TextDisplay unless {@link PacketEntityTuning#shareFakeTextEntities} is off;
+ * Bedrock players each get their own ArmorStand.
  * Implements TrackedPacketEntity for automatic visibility management.
  */
 public class FakeTextImpl implements FakeText, TrackedPacketEntity {
@@ -34,8 +39,10 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
     private boolean visible = true;
     private final UUID uniqueId = UUID.randomUUID();
 
-    // Track per-player entities - UUID -> packet entity
+    // Track per-player entities - UUID -> packet entity (the shared entity for Java players when sharing)
     private final Map<UUID, PacketEntityInterface> playerEntities = new ConcurrentHashMap<>();
+    // TextDisplay shown to every Java player, created on the first Java viewer
+    private volatile TextDisplayPacketEntity sharedTextDisplay;
     // Track which players are using ArmorStand (Bedrock)
     private final Set<UUID> bedrockPlayers = ConcurrentHashMap.newKeySet();
 
@@ -53,13 +60,12 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
 
     @Override
     public void setText(String text) {
+        // Skip the legacy text conversion entirely when nothing changed
+        if (Objects.equals(text, currentText)) return;
         this.currentText = text;
         // Update all existing entities
-        for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) {
-            UUID uuid = entry.getKey();
-            PacketEntityInterface entity = entry.getValue();
-
-            if (bedrockPlayers.contains(uuid)) {
+        forEachEntity((uuid, entity) -> {
+            if (uuid != null && bedrockPlayers.contains(uuid)) {
                 // ArmorStand - set custom name (need NMS entity, not Bukkit)
                 @SuppressWarnings("unchecked")
                 ArmorStand armorStand = ((AbstractPacketEntity<ArmorStand>) entity).getNMSEntity();
@@ -70,8 +76,8 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
                 TextDisplay textDisplay = entity.getBukkitEntity();
                 textDisplay.setText(text);
             }
-            entity.syncMetadata();
-        }
+            entity.syncDirtyMetadata();
+        });
     }
 
     @Override
@@ -82,9 +88,7 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
     @Override
     public void setVisible(boolean visible) {
         this.visible = visible;
-        for (PacketEntityInterface entity : playerEntities.values()) {
-            entity.setVisible(visible);
-        }
+        forEachEntity((uuid, entity) -> entity.setVisible(visible));
     }
 
     @Override
@@ -99,6 +103,11 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
         boolean isBedrock = BedrockChecker.isBedrock(player);
         PacketEntityInterface entity;
 
+        if (!isBedrock && PacketEntityTuning.shareFakeTextEntities) {
+            displaySharedTo(player);
+            return;
+        }
+
         if (isBedrock) {
             // Create ArmorStand for Bedrock players
             entity = createArmorStandEntity(location);
@@ -117,6 +126,29 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
         }
     }
 
+    /**
+     * Adds a Java player to the shared TextDisplay, spawning and mounting it for them only.
+     */
+    private void displaySharedTo(Player player) {
+        TextDisplayPacketEntity shared = sharedTextDisplay;
+        if (shared == null) {
+            shared = createTextDisplayEntity(location);
+            sharedTextDisplay = shared;
+        }
+
+        playerEntities.put(player.getUniqueId(), shared);
+        shared.displayTo(player);
+
+        // If we're mounted to something, mount the shared entity for this player too
+        if (currentVehicleId != -1) {
+            if (shared.getCurrentVehicleId() != currentVehicleId) {
+                shared.mountTo(currentVehicleId);
+            } else {
+                shared.sendMountPacketTo(player);
+            }
+        }
+    }
+
     @Override
     public void displayTo(UUID uuid) {
         Player player = Bukkit.getPlayer(uuid);
@@ -135,7 +167,12 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
     public void hideFrom(UUID uuid) {
         PacketEntityInterface entity = playerEntities.remove(uuid);
         if (entity != null) {
-            entity.remove();
+            if (entity == sharedTextDisplay) {
+                // Only this player stops seeing the shared entity
+                sharedTextDisplay.hideFrom(uuid);
+            } else {
+                entity.remove();
+            }
         }
         bedrockPlayers.remove(uuid);
     }
@@ -143,8 +180,9 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
     @Override
     public void teleport(Location location) {
         this.location = location.clone();
-        for (PacketEntityInterface entity : playerEntities.values()) {
-            entity.teleport(location);
+        forEachEntity((uuid, entity) -> entity.teleport(location));
+        if (autoTracked) {
+            PacketEntityTracker.getInstance().move(this);
         }
     }
 
@@ -155,9 +193,8 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
 
     @Override
     public void remove() {
-        for (PacketEntityInterface entity : playerEntities.values()) {
-            entity.remove();
-        }
+        forEachEntity((uuid, entity) -> entity.remove());
+        sharedTextDisplay = null;
         playerEntities.clear();
         bedrockPlayers.clear();
         removeCallbacks.forEach(Runnable::run);
@@ -170,24 +207,18 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
 
     @Override
     public void setTextOpacity(byte opacity) {
-        for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) {
-            UUID uuid = entry.getKey();
-            if (bedrockPlayers.contains(uuid)) continue; // ArmorStand doesn't support opacity
-
-            PacketEntityInterface entity = entry.getValue();
+        // ArmorStand doesn't support opacity
+        forEachJavaEntity(entity -> {
             TextDisplay textDisplay = entity.getBukkitEntity();
             textDisplay.setTextOpacity(opacity);
-            entity.syncMetadata();
-        }
+            entity.syncDirtyMetadata();
+        });
     }
 
     @Override
     public void setScale(float scale) {
-        for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) {
-            UUID uuid = entry.getKey();
-            if (bedrockPlayers.contains(uuid)) continue; // ArmorStand doesn't support scale
-
-            PacketEntityInterface entity = entry.getValue();
+        // ArmorStand doesn't support scale
+        forEachJavaEntity(entity -> {
             TextDisplay textDisplay = entity.getBukkitEntity();
             org.bukkit.util.Transformation transform = textDisplay.getTransformation();
             textDisplay.setTransformation(new org.bukkit.util.Transformation(
@@ -196,21 +227,18 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
                     new org.joml.Vector3f(scale, scale, scale),
                     transform.getRightRotation()
             ));
-            entity.syncMetadata();
-        }
+            entity.syncDirtyMetadata();
+        });
     }
 
     @Override
     public void setBackgroundColor(Color color) {
-        for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) {
-            UUID uuid = entry.getKey();
-            if (bedrockPlayers.contains(uuid)) continue; // ArmorStand doesn't support background
-
-            PacketEntityInterface entity = entry.getValue();
+        // ArmorStand doesn't support background
+        forEachJavaEntity(entity -> {
             TextDisplay textDisplay = entity.getBukkitEntity();
             textDisplay.setBackgroundColor(color);
-            entity.syncMetadata();
-        }
+            entity.syncDirtyMetadata();
+        });
     }
 
     @Override
@@ -220,61 +248,51 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
 
     @Override
     public void setShadowed(boolean shadow) {
-        for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) {
-            UUID uuid = entry.getKey();
-            if (bedrockPlayers.contains(uuid)) continue; // ArmorStand doesn't support shadow
-
-            PacketEntityInterface entity = entry.getValue();
+        // ArmorStand doesn't support shadow
+        forEachJavaEntity(entity -> {
             TextDisplay textDisplay = entity.getBukkitEntity();
             textDisplay.setShadowed(shadow);
-            entity.syncMetadata();
-        }
+            entity.syncDirtyMetadata();
+        });
     }
 
     @Override
     public void setSeeThrough(boolean seeThrough) {
-        for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) {
-            UUID uuid = entry.getKey();
-            if (bedrockPlayers.contains(uuid)) continue; // ArmorStand doesn't support seeThrough
-
-            PacketEntityInterface entity = entry.getValue();
+        // ArmorStand doesn't support seeThrough
+        forEachJavaEntity(entity -> {
             TextDisplay textDisplay = entity.getBukkitEntity();
             textDisplay.setSeeThrough(seeThrough);
-            entity.syncMetadata();
-        }
+            entity.syncDirtyMetadata();
+        });
     }
 
     @Override
     public void setBillboard(org.bukkit.entity.Display.Billboard billboard) {
-        for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) {
-            UUID uuid = entry.getKey();
-            if (bedrockPlayers.contains(uuid)) continue; // ArmorStand doesn't support billboard
-
-            PacketEntityInterface entity = entry.getValue();
+        // ArmorStand doesn't support billboard
+        forEachJavaEntity(entity -> {
             TextDisplay textDisplay = entity.getBukkitEntity();
             textDisplay.setBillboard(billboard);
-            entity.syncMetadata();
-        }
+            entity.syncDirtyMetadata();
+        });
     }
 
     @Override
     public void mountTo(org.bukkit.entity.Entity vehicle) {
         if (vehicle == null) return;
         this.currentVehicleId = vehicle.getEntityId();
-        // Mount all existing per-player entities to this vehicle
-        for (PacketEntityInterface entity : playerEntities.values()) {
-            entity.mountTo(currentVehicleId);
-        }
+        // Mount all existing entities to this vehicle
+        forEachEntity((uuid, entity) -> entity.mountTo(currentVehicleId));
     }
 
     @Override
     public void dismount() {
         if (currentVehicleId != -1) {
-            for (PacketEntityInterface entity : playerEntities.values()) {
-                entity.dismount();
-            }
+            forEachEntity((uuid, entity) -> entity.dismount());
             currentVehicleId = -1;
             vehicleEntity = null;
+            if (autoTracked) {
+                PacketEntityTracker.getInstance().vehicleChanged(this);
+            }
         }
     }
 
@@ -373,10 +391,8 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
     public void remount() {
         if (vehicleEntity != null && vehicleEntity.isValid()) {
             currentVehicleId = vehicleEntity.getEntityId();
-            // Remount all existing per-player entities
-            for (PacketEntityInterface entity : playerEntities.values()) {
-                entity.mountTo(currentVehicleId);
-            }
+            // Remount all existing entities
+            forEachEntity((uuid, entity) -> entity.mountTo(currentVehicleId));
         }
     }
 
@@ -387,10 +403,32 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
         removeCallbacks.add(callback);
     }
 
+    /**
+     * Runs the action once per distinct packet entity: the shared TextDisplay (with a null player) and then each
+     * per-player entity.
+     */
+    private void forEachEntity(BiConsumer<UUID, PacketEntityInterface> action) {
+        TextDisplayPacketEntity shared = sharedTextDisplay;
+        if (shared != null) action.accept(null, shared);
+        for (Map.Entry<UUID, PacketEntityInterface> entry : playerEntities.entrySet()) {
+            if (entry.getValue() == shared) continue;
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Runs the action once per distinct TextDisplay: the shared one and any per-player ones.
+     */
+    private void forEachJavaEntity(Consumer<PacketEntityInterface> action) {
+        forEachEntity((uuid, entity) -> {
+            if (uuid == null || !bedrockPlayers.contains(uuid)) action.accept(entity);
+        });
+    }
+
     /**
      * Creates a TextDisplay packet entity with all the styling applied.
      */
-    private PacketEntityInterface createTextDisplayEntity(Location location) {
+    private TextDisplayPacketEntity createTextDisplayEntity(Location location) {
         TextDisplayPacketEntity entity = new TextDisplayPacketEntity(location);
 
         // Apply settings to the TextDisplay
@@ -450,7 +488,8 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
             ));
         }
 
-        entity.syncMetadata();
+        // No viewers yet - this just clears the dirty flags left by the setup above
+        entity.syncDirtyMetadata();
         return entity;
     }
 
@@ -468,7 +507,8 @@ public class FakeTextImpl implements FakeText, TrackedPacketEntity {
         armorStand.setCustomNameVisible(true);
         armorStand.setCustomName(CraftBukkitBridge.fromLegacyText(currentText));
 
-        entity.syncMetadata();
+        // No viewers yet - this just clears the dirty flags left by the setup above
+        entity.syncDirtyMetadata();
         return entity;
     }
 
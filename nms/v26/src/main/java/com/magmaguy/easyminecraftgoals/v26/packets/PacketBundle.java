@@ -1,6 +1,7 @@
 package com.magmaguy.easyminecraftgoals.v26.packets;
 
 import com.magmaguy.easyminecraftgoals.internal.AbstractPacketBundle;
+import com.magmaguy.easyminecraftgoals.internal.PacketOutbox;
 import com.magmaguy.easyminecraftgoals.v26.CraftBukkitBridge;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
@@ -12,7 +13,7 @@ import java.util.*;
 
 public class PacketBundle implements AbstractPacketBundle {
     private final List<PacketBundleEntry> entries = new ArrayList<>();
-    private static final int MAX_PACKETS_PER_BUNDLE = 3000;
+    static final int MAX_PACKETS_PER_BUNDLE = 3000;
 
     public PacketBundle() {
     }
@@ -24,6 +25,16 @@ public class PacketBundle implements AbstractPacketBundle {
 
     @Override
     public void send() {
+        // Coalescing on: hand everything to the shared per-tick outbox, which bundles per player at tick end
+        if (PacketOutbox.isActive()) {
+            for (PacketBundleEntry entry : entries) {
+                for (Player viewer : entry.viewers()) {
+                    PacketOutbox.enqueue(viewer, entry.packet());
+                }
+            }
+            return;
+        }
+
         // Group packets by player for efficiency
         Map<Player, List<Packet<ClientGamePacketListener>>> playerPackets = new HashMap<>();
 
@@ -1,6 +1,8 @@
 package com.magmaguy.easyminecraftgoals.v26.packets;
 
 import com.magmaguy.easyminecraftgoals.internal.AbstractPacketBundle;
+import com.magmaguy.easyminecraftgoals.internal.PacketEntityLod;
+import com.magmaguy.easyminecraftgoals.internal.PacketEntityTuning;
 import com.magmaguy.easyminecraftgoals.internal.PacketModelEntity;
 import com.magmaguy.easyminecraftgoals.v26.CraftBukkitBridge;
 import com.mojang.math.Transformation;
@@ -16,15 +18,31 @@ import org.joml.Quaternionfc;
 import org.joml.Vector3f;
 import org.joml.Vector3fc;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public class PacketDisplayEntity extends AbstractPacketEntity<Display.ItemDisplay> implements PacketModelEntity {
 
+    // What a viewer gets from addLodPackets this tick, in increasing order of detail
+    private static final byte LOD_SKIP = 0;
+    private static final byte LOD_MOVE = 1;
+    private static final byte LOD_DELTA = 2;
+    private static final byte LOD_SNAPSHOT = 3;
+
     private ItemStack carrierItem;
     private net.minecraft.world.item.ItemStack nmsCarrierItem;
     private Display.ItemDisplay itemDisplay;
+    private PacketEntityLod lod = PacketEntityLod.NONE;
+    private int lodTick;
+    // Reused by addLodPackets: the update each viewer gets this tick, indexed like the viewer list
+    private byte[] lodUpdates = new byte[0];
+    private final Location lodViewerLocation = new Location(null, 0, 0, 0);
+    // Viewers that skipped at least one metadata update since their last full snapshot
+    private final Set<UUID> staleViewers = ConcurrentHashMap.newKeySet();
 
     public PacketDisplayEntity(Location location) {
         super(location);
@@ -147,11 +165,10 @@ public class PacketDisplayEntity extends AbstractPacketEntity<Display.ItemDispla
     public AbstractPacketBundle generateLocationAndRotationAndScalePackets(
             AbstractPacketBundle packetBundle, Location location, EulerAngle eulerAngle, float scaleX, float scaleY, float scaleZ) {
 
-        if (!getLocation().getWorld().equals(location.getWorld())) {
-            packetBundle.addPacket(generateMovePacket(location), getViewersAsPlayers());
-        } else {
-            // Always move — keeps things in sync for display entities
-            packetBundle.addPacket(generateMovePacket(location), getViewersAsPlayers());
+        // Always move — keeps things in sync for display entities
+        net.minecraft.network.protocol.Packet<?> move = generateMovePacket(location);
+        if (!lod.isEnabled()) {
+            packetBundle.addPacket(move, getViewersAsPlayers());
         }
 
         // Always update transformation for rotation/scale
@@ -170,13 +187,22 @@ public class PacketDisplayEntity extends AbstractPacketEntity<Display.ItemDispla
 
         entity.setTransformation(transformation);
 
+        if (lod.isEnabled()) {
+            return addLodPackets(packetBundle, location, move);
+        }
+
         // Per-tick metadata: send only the changed (dirty) data values instead of the full
         // non-default snapshot, which re-serializes the entire item-display item blob every
         // tick. packDirty() returns just the transformation that actually changed (and null
         // when nothing did). Display-entity bones are shown to Java viewers only — Bedrock V2
         // uses a separate path — so vanilla delta-metadata semantics apply cleanly here.
         // Full snapshots still go out on displayTo (spawn) and the periodic resync.
-        if (com.magmaguy.easyminecraftgoals.internal.PacketEntityTuning.useDeltaMetadataUpdates) {
+        if (!staleViewers.isEmpty()) {
+            // Level of detail was just turned off and some viewers missed updates; resync everyone once
+            if (PacketEntityTuning.useDeltaMetadataUpdates) createDirtyEntityDataPacket();
+            staleViewers.clear();
+            packetBundle.addPacket(createEntityDataPacket(), getViewersAsPlayers());
+        } else if (PacketEntityTuning.useDeltaMetadataUpdates) {
             net.minecraft.network.protocol.Packet<?> dirty = createDirtyEntityDataPacket();
             if (dirty != null) packetBundle.addPacket(dirty, getViewersAsPlayers());
         } else {
@@ -186,6 +212,85 @@ public class PacketDisplayEntity extends AbstractPacketEntity<Display.ItemDispla
         return packetBundle;
     }
 
+    /**
+     * Splits this tick's update between viewers by level-of-detail tier. Viewers whose tier isn't due this tick
+     * get nothing; position-only tiers get just the move. Anyone who missed a metadata update since their last
+     * full snapshot gets a full snapshot instead of the delta, since the delta only covers this tick's changes.
+     */
+    private AbstractPacketBundle addLodPackets(AbstractPacketBundle packetBundle, Location location,
+                                               net.minecraft.network.protocol.Packet<?> move) {
+        int tick = lodTick++;
+        boolean useDelta = PacketEntityTuning.useDeltaMetadataUpdates;
+        List<Player> viewers = getViewersAsPlayers();
+        int viewerCount = viewers.size();
+        if (lodUpdates.length < viewerCount) lodUpdates = new byte[Math.max(viewerCount, lodUpdates.length * 2)];
+        int moveCount = 0;
+        int deltaCount = 0;
+        int snapshotCount = 0;
+
+        for (int i = 0; i < viewerCount; i++) {
+            Player viewer = viewers.get(i);
+            Location viewerLocation = viewer.getLocation(lodViewerLocation);
+            double distanceSquared = Double.POSITIVE_INFINITY;
+            if (viewerLocation.getWorld() == location.getWorld()) {
+                double dx = viewerLocation.getX() - location.getX();
+                double dy = viewerLocation.getY() - location.getY();
+                double dz = viewerLocation.getZ() - location.getZ();
+                distanceSquared = dx * dx + dy * dy + dz * dz;
+            }
+            PacketEntityLod.Tier tier = lod.tierFor(distanceSquared);
+            UUID viewerId = viewer.getUniqueId();
+
+            if (!tier.isDue(tick)) {
+                lodUpdates[i] = LOD_SKIP;
+                staleViewers.add(viewerId);
+                continue;
+            }
+            moveCount++;
+            if (!tier.transforms()) {
+                lodUpdates[i] = LOD_MOVE;
+                staleViewers.add(viewerId);
+            } else if (useDelta && tier.interval() == 1 && !staleViewers.contains(viewerId)) {
+                lodUpdates[i] = LOD_DELTA;
+                deltaCount++;
+            } else {
+                lodUpdates[i] = LOD_SNAPSHOT;
+                snapshotCount++;
+                staleViewers.remove(viewerId);
+            }
+        }
+
+        if (moveCount > 0) packetBundle.addPacket(move, lodViewers(viewers, moveCount, LOD_MOVE, LOD_SNAPSHOT));
+        // packDirty() clears the dirty flags, so call it every tick even when nobody gets the delta
+        if (useDelta) {
+            net.minecraft.network.protocol.Packet<?> dirty = createDirtyEntityDataPacket();
+            if (dirty != null && deltaCount > 0)
+                packetBundle.addPacket(dirty, lodViewers(viewers, deltaCount, LOD_DELTA, LOD_DELTA));
+        }
+        if (snapshotCount > 0)
+            packetBundle.addPacket(createEntityDataPacket(), lodViewers(viewers, snapshotCount, LOD_SNAPSHOT, LOD_SNAPSHOT));
+
+        return packetBundle;
+    }
+
+    /**
+     * Gets the viewers whose update this tick is between {@code minUpdate} and {@code maxUpdate}. When that is every
+     * viewer, which is the usual case, the shared viewer list is returned as is.
+     */
+    private List<Player> lodViewers(List<Player> viewers, int count, byte minUpdate, byte maxUpdate) {
+        if (count == viewers.size()) return viewers;
+        List<Player> selected = new ArrayList<>(count);
+        for (int i = 0; i < viewers.size(); i++) {
+            if (lodUpdates[i] >= minUpdate && lodUpdates[i] <= maxUpdate) selected.add(viewers.get(i));
+        }
+        return selected;
+    }
+
+    @Override
+    public void setLod(PacketEntityLod lod) {
+        this.lod = lod == null ? PacketEntityLod.NONE : lod;
+    }
+
     @Override
     public void displayTo(Player player) {
         super.displayTo(player);
@@ -197,10 +302,18 @@ public class PacketDisplayEntity extends AbstractPacketEntity<Display.ItemDispla
 
     @Override
     public void addViewer(UUID player) {
+        // Spawning sends a full metadata snapshot
+        staleViewers.remove(player);
         super.addViewer(player);
         displayTo(player);
     }
 
+    @Override
+    public void removeViewer(UUID player) {
+        super.removeViewer(player);
+        staleViewers.remove(player);
+    }
+
     public Vector3f getScale() {
         Vector3fc scale = getTransformation().scale();
         return new Vector3f(scale.x(), scale.y(), scale.z());
@@ -0,0 +1,58 @@
+package com.magmaguy.easyminecraftgoals.v26.packets;
+
+import com.magmaguy.easyminecraftgoals.internal.PacketOutbox;
+import com.magmaguy.easyminecraftgoals.v26.CraftBukkitBridge;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.server.level.ServerPlayer;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends one player's queued {@link PacketOutbox} packets as {@link ClientboundBundlePacket}s, split at
+ * {@link PacketBundle#MAX_PACKETS_PER_BUNDLE}. Packets that are already bundles can't be nested, so they
+ * close the current bundle and go out on their own, keeping the queued order intact.
+ */
+public final class PacketOutboxSink implements PacketOutbox.Sink {
+
+    @Override
+    public void send(Player player, List<Object> packets) {
+        ServerPlayer nmsPlayer = CraftBukkitBridge.getServerPlayer(player);
+
+        // Nothing to bundle
+        if (packets.size() == 1) {
+            nmsPlayer.connection.send((Packet<?>) packets.get(0));
+            return;
+        }
+
+        List<Packet<ClientGamePacketListener>> chunk = new ArrayList<>(Math.min(packets.size(), PacketBundle.MAX_PACKETS_PER_BUNDLE));
+        for (Object packet : packets) {
+            if (packet instanceof ClientboundBundlePacket bundlePacket) {
+                sendChunk(nmsPlayer, chunk);
+                nmsPlayer.connection.send(bundlePacket);
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            Packet<ClientGamePacketListener> clientPacket = (Packet<ClientGamePacketListener>) packet;
+            chunk.add(clientPacket);
+            if (chunk.size() >= PacketBundle.MAX_PACKETS_PER_BUNDLE) {
+                sendChunk(nmsPlayer, chunk);
+            }
+        }
+        sendChunk(nmsPlayer, chunk);
+    }
+
+    private void sendChunk(ServerPlayer nmsPlayer, List<Packet<ClientGamePacketListener>> chunk) {
+        if (chunk.isEmpty()) return;
+        if (chunk.size() == 1) {
+            nmsPlayer.connection.send(chunk.get(0));
+        } else {
+            nmsPlayer.connection.send(new ClientboundBundlePacket(new ArrayList<>(chunk)));
+        }
+        chunk.clear();
+    }
+}